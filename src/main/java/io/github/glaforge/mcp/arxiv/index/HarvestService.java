@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.index;
+
+import io.github.glaforge.mcp.arxiv.service.ArxivService;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically harvests the configured queries into the local index, in the
+ * background, so that their papers can be searched without calling arXiv.
+ */
+@ApplicationScoped
+public class HarvestService {
+
+    @Inject
+    ArxivService arxivService;
+
+    @Inject
+    PaperIndexService paperIndex;
+
+    @ConfigProperty(name = "arxiv.harvest.queries")
+    Optional<List<String>> queries;
+
+    @ConfigProperty(name = "arxiv.harvest.checkpoint-file", defaultValue = "${java.io.tmpdir}/arxiv-mcp-server/harvest.properties")
+    Path checkpointFile;
+
+    @ConfigProperty(name = "arxiv.harvest.page-size", defaultValue = "200")
+    int pageSize;
+
+    @ConfigProperty(name = "arxiv.harvest.max-per-run", defaultValue = "10000")
+    int maxPerRun;
+
+    @ConfigProperty(name = "arxiv.harvest.checkpoint-pages", defaultValue = "10")
+    int checkpointPages;
+
+    @ConfigProperty(name = "arxiv.harvest.interval", defaultValue = "PT24H")
+    Duration interval;
+
+    private ScheduledExecutorService scheduler;
+    private Harvester harvester;
+
+    void onStart(@Observes StartupEvent event) {
+        if (queries.isEmpty() || !paperIndex.isEnabled()) {
+            return;
+        }
+        harvester = new Harvester(arxivService::harvestPage, paperIndex::index, paperIndex::save,
+            checkpointFile, pageSize, maxPerRun, checkpointPages);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "arxiv-harvester");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::harvestAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void harvestAll() {
+        for (String query : queries.orElse(List.of())) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            try {
+                int from = harvester.offset(query);
+                int fetched = harvester.harvest(query);
+                Log.info("Harvested " + fetched + " papers for " + query + " starting at offset " + from);
+            } catch (RuntimeException e) {
+                Log.warn("Harvest of " + query + " stopped at offset " + harvester.offset(query) + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.index;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import io.github.glaforge.mcp.arxiv.service.ArxivIds;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Pages through the results of arXiv queries and hands every page of entries
+ * to a sink, remembering in a checkpoint file how far each query got.
+ * <p>
+ * Results are requested in ascending submission order, so the offset stays
+ * valid as new papers are published: a later run resumes at the checkpoint and
+ * only fetches what was added since.
+ */
+public class Harvester {
+
+    /**
+     * Fetches one page of results, handing each entry to the consumer, and returns the feed header.
+     */
+    @FunctionalInterface
+    public interface PageSource {
+        Feed fetch(String query, int start, int maxResults, Consumer<Entry> consumer);
+    }
+
+    private final PageSource source;
+    private final Consumer<List<Entry>> sink;
+    private final Runnable flush;
+    private final Path checkpointFile;
+    private final int pageSize;
+    private final int maxPerRun;
+    private final int checkpointEvery;
+
+    private final Properties checkpoints = new Properties();
+    private final AtomicLong harvestedCount = new AtomicLong();
+    private final AtomicLong pageCount = new AtomicLong();
+
+    /**
+     * @param sink receives the entries of each page
+     * @param flush makes everything handed to the sink durable, called before each checkpoint;
+     *              throws if it fails, and the checkpoint is then not moved
+     * @param maxPerRun maximum number of results fetched per query in one run
+     * @param checkpointEvery number of pages between two checkpoints
+     */
+    public Harvester(PageSource source, Consumer<List<Entry>> sink, Runnable flush, Path checkpointFile,
+                     int pageSize, int maxPerRun, int checkpointEvery) {
+        this.source = source;
+        this.sink = sink;
+        this.flush = flush;
+        this.checkpointFile = checkpointFile;
+        this.pageSize = pageSize;
+        this.maxPerRun = maxPerRun;
+        this.checkpointEvery = Math.max(1, checkpointEvery);
+        if (Files.exists(checkpointFile)) {
+            try (InputStream in = Files.newInputStream(checkpointFile)) {
+                checkpoints.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read harvest checkpoint " + checkpointFile, e);
+            }
+        }
+    }
+
+    /**
+     * Harvests the given query from its last checkpoint until a short page is
+     * returned or {@code maxPerRun} results were fetched. Returns the number of
+     * entries fetched.
+     */
+    public int harvest(String query) {
+        int start = offset(query);
+        int fetched = 0;
+        int pagesSinceCheckpoint = 0;
+        try {
+            while (fetched < maxPerRun && !Thread.currentThread().isInterrupted()) {
+                int size = Math.min(pageSize, maxPerRun - fetched);
+                // A page failing midway is fetched again whole, so entries are keyed by ID
+                Map<String, Entry> entries = new LinkedHashMap<>();
+                source.fetch(query, start, size, entry -> {
+                    String id = ArxivIds.fromEntry(entry);
+                    // A failed query comes back as a single error entry, which has no arXiv ID
+                    if (id != null) {
+                        entries.put(id, entry);
+                    }
+                });
+                List<Entry> page = new ArrayList<>(entries.values());
+                if (!page.isEmpty()) {
+                    sink.accept(page);
+                }
+                start += page.size();
+                fetched += page.size();
+                pageCount.incrementAndGet();
+                harvestedCount.addAndGet(page.size());
+                if (page.size() < size) {
+                    break;
+                }
+                if (++pagesSinceCheckpoint == checkpointEvery) {
+                    checkpoint(query, start);
+                    pagesSinceCheckpoint = 0;
+                }
+            }
+        } finally {
+            checkpoint(query, start);
+        }
+        return fetched;
+    }
+
+    /**
+     * Returns the offset the next run of the query will start from.
+     */
+    public synchronized int offset(String query) {
+        return Integer.parseInt(checkpoints.getProperty(query, "0"));
+    }
+
+    public long harvestedCount() {
+        return harvestedCount.get();
+    }
+
+    public long pageCount() {
+        return pageCount.get();
+    }
+
+    private synchronized void checkpoint(String query, int start) {
+        if (start == offset(query)) {
+            return;
+        }
+        flush.run();
+        checkpoints.setProperty(query, Integer.toString(start));
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(checkpointFile.toAbsolutePath().getParent());
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                checkpoints.store(out, "arXiv harvest offsets by query");
+            }
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write harvest checkpoint " + checkpointFile, e);
+        }
+    }
+}
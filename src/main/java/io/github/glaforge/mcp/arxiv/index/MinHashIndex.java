@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * Locality-sensitive hashing of papers by the words of their title and abstract,
+ * to find similar papers without comparing them to every other one.
+ * <p>
+ * Each paper gets a MinHash signature of {@value #HASHES} values, the share of
+ * which two papers have in common estimates the Jaccard similarity of their
+ * words. Signatures are cut into {@value #BANDS} bands of {@value #ROWS} values,
+ * and papers agreeing on a whole band share a bucket: a pair with a similarity of
+ * 0.2 does 73% of the time, and a pair at 0.05 only 8%. Papers sharing a bucket
+ * with the query are then ranked by their estimated similarity.
+ * <p>
+ * Everything is held in int arrays: the signatures back to back, and the buckets
+ * as chains threaded through an array with a slot per paper and band.
+ */
+final class MinHashIndex {
+
+    static final int HASHES = 64;
+    static final int ROWS = 2;
+    static final int BANDS = HASHES / ROWS;
+
+    private static final long[] SEEDS = new SplittableRandom(0x6D696E68617368L).longs(HASHES).toArray();
+
+    record Neighbor(int doc, double similarity) {
+    }
+
+    private int size;
+    private int[] signatures = new int[64 * HASHES];
+    // Next slot of the same bucket, for each paper and band, or -1
+    private int[] next = new int[64 * BANDS];
+    private int[] heads = emptyHeads(1024);
+
+    /**
+     * Returns the signature of a set of words, or null if it is empty.
+     */
+    static int[] signature(Collection<String> words) {
+        if (words.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String word : words) {
+            long hash = hash(word);
+            for (int i = 0; i < HASHES; i++) {
+                int value = (int) (mix(hash ^ SEEDS[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds the next paper, whose number must be the current size. A paper without
+     * signature is kept out of the buckets, so it is never found similar.
+     */
+    void add(int doc, int[] signature) {
+        if (doc != size) {
+            throw new IllegalArgumentException("Expected paper " + size + ", got " + doc);
+        }
+        if ((size + 1) * HASHES > signatures.length) {
+            signatures = Arrays.copyOf(signatures, signatures.length * 2);
+            next = Arrays.copyOf(next, next.length * 2);
+        }
+        if (signature == null) {
+            Arrays.fill(signatures, doc * HASHES, (doc + 1) * HASHES, Integer.MAX_VALUE);
+            Arrays.fill(next, doc * BANDS, (doc + 1) * BANDS, -1);
+        } else {
+            System.arraycopy(signature, 0, signatures, doc * HASHES, HASHES);
+            for (int band = 0; band < BANDS; band++) {
+                link(doc * BANDS + band);
+            }
+        }
+        size++;
+        if ((long) size * BANDS > heads.length * 3L / 4) {
+            rehash(heads.length * 2);
+        }
+    }
+
+    /**
+     * Returns the signature of a paper, or null if it has none.
+     */
+    int[] signature(int doc) {
+        int[] signature = Arrays.copyOfRange(signatures, doc * HASHES, (doc + 1) * HASHES);
+        return isEmpty(signature, 0) ? null : signature;
+    }
+
+    /**
+     * Returns the papers sharing a bucket with the given signature, most similar
+     * first, among those {@code accepted}.
+     */
+    List<Neighbor> nearest(int[] signature, int limit, IntPredicate accepted) {
+        if (signature == null || limit <= 0) {
+            return List.of();
+        }
+        BitSet seen = new BitSet(size);
+        PriorityQueue<Neighbor> top = new PriorityQueue<>(limit + 1,
+            (a, b) -> a.similarity() != b.similarity() ? Double.compare(a.similarity(), b.similarity()) : Integer.compare(b.doc(), a.doc()));
+        for (int band = 0; band < BANDS; band++) {
+            for (int slot = heads[bucket(signature, 0, band)]; slot >= 0; slot = next[slot]) {
+                int doc = slot / BANDS;
+                // Buckets also hold other bands, and bands that only collide on their hash
+                if (slot % BANDS != band || seen.get(doc) || !sameBand(signature, doc, band)) {
+                    continue;
+                }
+                seen.set(doc);
+                if (!accepted.test(doc)) {
+                    continue;
+                }
+                int same = 0;
+                for (int i = 0, offset = doc * HASHES; i < HASHES; i++) {
+                    if (signatures[offset + i] == signature[i]) {
+                        same++;
+                    }
+                }
+                top.add(new Neighbor(doc, (double) same / HASHES));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<Neighbor> neighbors = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            neighbors.add(top.poll());
+        }
+        return neighbors.reversed();
+    }
+
+    private boolean sameBand(int[] signature, int doc, int band) {
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            if (signatures[doc * HASHES + row] != signature[row]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void link(int slot) {
+        int doc = slot / BANDS;
+        int bucket = bucket(signatures, doc * HASHES, slot % BANDS);
+        next[slot] = heads[bucket];
+        heads[bucket] = slot;
+    }
+
+    private void rehash(int capacity) {
+        heads = emptyHeads(capacity);
+        for (int doc = 0; doc < size; doc++) {
+            if (!isEmpty(signatures, doc * HASHES)) {
+                for (int band = 0; band < BANDS; band++) {
+                    link(doc * BANDS + band);
+                }
+            }
+        }
+    }
+
+    private int bucket(int[] values, int offset, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = key * 0x9E3779B97F4A7C15L + values[offset + row];
+        }
+        return (int) mix(key) & (heads.length - 1);
+    }
+
+    private static boolean isEmpty(int[] values, int offset) {
+        for (int i = offset; i < offset + HASHES; i++) {
+            if (values[i] != Integer.MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] emptyHeads(int capacity) {
+        int[] heads = new int[capacity];
+        Arrays.fill(heads, -1);
+        return heads;
+    }
+
+    private static long hash(String word) {
+        // FNV-1a, then mixed, as String.hashCode() collides too much across 64 hashes
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            hash = (hash ^ word.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The finalizer of SplitMix64.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
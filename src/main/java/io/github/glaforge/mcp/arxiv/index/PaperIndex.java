@@ -0,0 +1,417 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.index;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.service.ArxivIds;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over paper metadata, ranked with BM25, which also
+ * finds papers similar to a given one through a {@link MinHashIndex}.
+ * <p>
+ * Each paper is indexed once under its unversioned ID; indexing a newer version
+ * replaces the older one. Entries are kept as JSON bytes and only deserialized
+ * when they are returned, which keeps the heap small and makes reloading the
+ * index from disk cheap.
+ */
+public class PaperIndex {
+
+    private static final int MAGIC = 0x41524958; // "ARIX"
+    // Version 2 adds the MinHash signatures, which are computed when loading version 1
+    private static final int FORMAT_VERSION = 2;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> docIdsByPaper = new HashMap<>();
+    private final List<String> versionedIds = new ArrayList<>();
+    private final List<byte[]> documents = new ArrayList<>();
+    private int[] docLengths = new int[64];
+    private final BitSet deleted = new BitSet();
+    private final MinHashIndex similarity = new MinHashIndex();
+    private long totalLength;
+    private volatile boolean dirty;
+
+    public record Hit(Entry entry, double score) {
+    }
+
+    /**
+     * Adds papers to the index. Papers already indexed at the same version are skipped.
+     * Returns the number of papers actually added or updated.
+     */
+    public int addAll(List<Entry> entries) {
+        lock.writeLock().lock();
+        try {
+            int added = 0;
+            for (Entry entry : entries) {
+                if (add(entry)) {
+                    added++;
+                }
+            }
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean add(Entry entry) {
+        String versionedId = ArxivIds.fromEntry(entry);
+        if (versionedId == null) {
+            return false;
+        }
+        String paperId = ArxivIds.unversioned(versionedId);
+        Integer previous = docIdsByPaper.get(paperId);
+        if (previous != null) {
+            if (versionedIds.get(previous).equals(versionedId)) {
+                return false;
+            }
+            deleted.set(previous);
+            totalLength -= docLengths[previous];
+            // Keep document frequencies consistent with what a compacted index would have
+            for (String term : new HashSet<>(Tokenizer.terms(document(previous)))) {
+                postings.get(term).live--;
+            }
+        }
+
+        byte[] json;
+        try {
+            json = jsonMapper.writeValueAsBytes(entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int docId = documents.size();
+        documents.add(json);
+        versionedIds.add(versionedId);
+        docIdsByPaper.put(paperId, docId);
+
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        List<String> terms = Tokenizer.terms(entry);
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+            postings.computeIfAbsent(frequency.getKey(), t -> new Postings()).add(docId, frequency.getValue());
+        }
+        if (docId >= docLengths.length) {
+            docLengths = Arrays.copyOf(docLengths, docLengths.length * 2);
+        }
+        docLengths[docId] = terms.size();
+        totalLength += terms.size();
+        similarity.add(docId, MinHashIndex.signature(Tokenizer.shingles(entry)));
+        dirty = true;
+        return true;
+    }
+
+    public List<Hit> search(String query, int limit) {
+        List<String> terms = Tokenizer.queryTerms(query);
+        lock.readLock().lock();
+        try {
+            int liveDocs = size();
+            if (terms.isEmpty() || liveDocs == 0 || limit <= 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / liveDocs;
+            double[] scores = new double[documents.size()];
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveDocs - list.live + 0.5) / (list.live + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    int tf = list.freqs[i];
+                    double norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+                    scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(scores[a], scores[b]));
+            for (int doc = 0; doc < scores.length; doc++) {
+                if (scores[doc] > 0 && !deleted.get(doc)) {
+                    top.add(doc);
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int doc = top.poll();
+                hits.add(new Hit(document(doc), scores[doc]));
+            }
+            return hits.reversed();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the indexed papers most similar to the given one by the words of
+     * their title and abstract, with their estimated Jaccard similarity as score.
+     * The paper itself, in any version, is left out.
+     */
+    public List<Hit> similar(Entry entry, int limit) {
+        String versionedId = ArxivIds.fromEntry(entry);
+        String paperId = versionedId == null ? null : ArxivIds.unversioned(versionedId);
+        lock.readLock().lock();
+        try {
+            Integer self = paperId == null ? null : docIdsByPaper.get(paperId);
+            int[] signature = self != null && versionedIds.get(self).equals(versionedId)
+                ? similarity.signature(self)
+                : MinHashIndex.signature(Tokenizer.shingles(entry));
+            List<Hit> hits = new ArrayList<>();
+            for (MinHashIndex.Neighbor neighbor : similarity.nearest(signature, limit,
+                    doc -> !deleted.get(doc) && (self == null || doc != self))) {
+                hits.add(new Hit(document(neighbor.doc()), neighbor.similarity()));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the indexed entry for the given versioned or unversioned ID, or null.
+     */
+    public Entry get(String id) {
+        String normalized = ArxivIds.normalize(id);
+        lock.readLock().lock();
+        try {
+            Integer doc = docIdsByPaper.get(ArxivIds.unversioned(normalized));
+            if (doc == null || (ArxivIds.isVersioned(normalized) && !versionedIds.get(doc).equals(normalized))) {
+                return null;
+            }
+            return document(doc);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return docIdsByPaper.size();
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    private Entry document(int doc) {
+        try {
+            return jsonMapper.readValue(documents.get(doc), Entry.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the index to the given file, replacing it atomically. Replaced
+     * versions of papers are dropped in the process.
+     */
+    public void save(Path file) throws IOException {
+        // Unique name, so that concurrent saves never write to the same file
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        lock.readLock().lock();
+        // Writers hold the write lock, so nothing can be added while the file is written
+        dirty = false;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            int[] remap = new int[documents.size()];
+            int live = 0;
+            for (int doc = 0; doc < documents.size(); doc++) {
+                remap[doc] = deleted.get(doc) ? -1 : live++;
+            }
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(live);
+            for (int doc = 0; doc < documents.size(); doc++) {
+                if (remap[doc] < 0) {
+                    continue;
+                }
+                out.writeUTF(versionedIds.get(doc));
+                out.writeInt(docLengths[doc]);
+                out.writeInt(documents.get(doc).length);
+                out.write(documents.get(doc));
+            }
+
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Postings> term : postings.entrySet()) {
+                Postings list = term.getValue();
+                int count = 0;
+                for (int i = 0; i < list.size; i++) {
+                    if (remap[list.docs[i]] >= 0) {
+                        count++;
+                    }
+                }
+                out.writeUTF(term.getKey());
+                out.writeInt(count);
+                for (int i = 0; i < list.size; i++) {
+                    if (remap[list.docs[i]] >= 0) {
+                        out.writeInt(remap[list.docs[i]]);
+                        out.writeInt(list.freqs[i]);
+                    }
+                }
+            }
+
+            for (int doc = 0; doc < documents.size(); doc++) {
+                if (remap[doc] < 0) {
+                    continue;
+                }
+                int[] signature = similarity.signature(doc);
+                out.writeBoolean(signature != null);
+                if (signature != null) {
+                    for (int value : signature) {
+                        out.writeInt(value);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            dirty = true;
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Loads an index previously written by {@link #save(Path)}. Counts and
+     * lengths are checked against the size of the file, so that a corrupt or
+     * truncated file fails with an {@link IOException}.
+     */
+    public static PaperIndex load(Path file) throws IOException {
+        PaperIndex index = new PaperIndex();
+        long size = Files.size(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            int version = in.readInt() == MAGIC ? in.readInt() : -1;
+            if (version != 1 && version != FORMAT_VERSION) {
+                throw new IOException("Unsupported index file format: " + file);
+            }
+            // Each document takes at least 10 bytes, each term 6 and each posting 8
+            int docCount = readCount(in, size / 10, file);
+            index.docLengths = new int[Math.max(64, docCount)];
+            for (int doc = 0; doc < docCount; doc++) {
+                String versionedId = in.readUTF();
+                index.docLengths[doc] = in.readInt();
+                byte[] json = new byte[readCount(in, size, file)];
+                in.readFully(json);
+                index.versionedIds.add(versionedId);
+                index.documents.add(json);
+                index.docIdsByPaper.put(ArxivIds.unversioned(versionedId), doc);
+                index.totalLength += index.docLengths[doc];
+            }
+
+            int termCount = readCount(in, size / 6, file);
+            for (int t = 0; t < termCount; t++) {
+                String term = in.readUTF();
+                int count = readCount(in, size / 8, file);
+                Postings list = new Postings(count);
+                for (int i = 0; i < count; i++) {
+                    int doc = in.readInt();
+                    if (doc < 0 || doc >= docCount) {
+                        throw new IOException("Corrupt index file: " + file);
+                    }
+                    list.add(doc, in.readInt());
+                }
+                index.postings.put(term, list);
+            }
+
+            for (int doc = 0; doc < docCount; doc++) {
+                int[] signature = null;
+                if (version == 1) {
+                    signature = MinHashIndex.signature(Tokenizer.shingles(index.document(doc)));
+                } else if (in.readBoolean()) {
+                    signature = new int[MinHashIndex.HASHES];
+                    for (int i = 0; i < signature.length; i++) {
+                        signature[i] = in.readInt();
+                    }
+                }
+                index.similarity.add(doc, signature);
+            }
+            // Have the signatures saved with the next save
+            index.dirty = version < FORMAT_VERSION;
+        }
+        return index;
+    }
+
+    private static int readCount(DataInputStream in, long max, Path file) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > max) {
+            throw new IOException("Corrupt index file: " + file);
+        }
+        return count;
+    }
+
+    private static class Postings {
+        int[] docs;
+        int[] freqs;
+        int size;
+        int live;
+
+        Postings() {
+            this(4);
+        }
+
+        Postings(int capacity) {
+            docs = new int[Math.max(1, capacity)];
+            freqs = new int[Math.max(1, capacity)];
+        }
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            live++;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.index;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.service.AtomFeedParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the local {@link PaperIndex}: reloads it at startup, imports dump files,
+ * indexes every paper fetched from arXiv and periodically saves it to disk.
+ */
+@ApplicationScoped
+public class PaperIndexService {
+
+    @ConfigProperty(name = "arxiv.index.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "arxiv.index.file", defaultValue = "${java.io.tmpdir}/arxiv-mcp-server/index.bin")
+    Path indexFile;
+
+    @ConfigProperty(name = "arxiv.index.import-files")
+    Optional<List<Path>> importFiles;
+
+    @ConfigProperty(name = "arxiv.index.save-interval", defaultValue = "PT5M")
+    Duration saveInterval;
+
+    @ConfigProperty(name = "arxiv.index.remote-fallback", defaultValue = "true")
+    boolean remoteFallback;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    private volatile PaperIndex index = new PaperIndex();
+    private ScheduledExecutorService saver;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (Files.exists(indexFile)) {
+            try {
+                long start = System.nanoTime();
+                index = PaperIndex.load(indexFile);
+                Log.info("Loaded local index with " + index.size() + " papers in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            } catch (IOException | RuntimeException e) {
+                Log.warn("Ignoring unreadable local index " + indexFile + ": " + e.getMessage());
+            }
+        }
+        importFiles.ifPresent(files -> files.forEach(this::importFile));
+
+        saver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "arxiv-index-saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = saveInterval.toMillis();
+        saver.scheduleWithFixedDelay(this::saveIfDirty, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (saver != null) {
+            saver.shutdownNow();
+        }
+        if (enabled) {
+            saveIfDirty();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isRemoteFallback() {
+        return remoteFallback;
+    }
+
+    public void index(List<Entry> entries) {
+        if (enabled && entries != null && !entries.isEmpty()) {
+            index.addAll(entries);
+        }
+    }
+
+    public List<PaperIndex.Hit> search(String query, int limit) {
+        return enabled ? index.search(query, limit) : List.of();
+    }
+
+    public List<PaperIndex.Hit> similar(Entry entry, int limit) {
+        return enabled ? index.similar(entry, limit) : List.of();
+    }
+
+    public Entry get(String id) {
+        return enabled ? index.get(id) : null;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Saves the index if papers were added since the last save, logging failures.
+     */
+    public void saveIfDirty() {
+        try {
+            save();
+        } catch (UncheckedIOException e) {
+            Log.warn(e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the index if papers were added since the last save. Saves are
+     * serialized: the periodic saver, the harvester and shutdown may all call it.
+     *
+     * @throws UncheckedIOException if the index could not be written
+     */
+    public synchronized void save() {
+        if (!index.isDirty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(indexFile.getParent());
+            index.save(indexFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save local index to " + indexFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Imports an Atom feed ({@code .xml}, {@code .atom}), a JSON feed or array of
+     * entries ({@code .json}), or one JSON entry per line ({@code .jsonl}).
+     */
+    void importFile(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            List<Entry> entries = new ArrayList<>();
+            if (name.endsWith(".jsonl")) {
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank()) {
+                            entries.add(jsonMapper.readValue(line, Entry.class));
+                        }
+                    }
+                }
+            } else if (name.endsWith(".json")) {
+                JsonNode root = jsonMapper.readTree(file.toFile());
+                JsonNode array = root.isArray() ? root : root.path("entries");
+                for (JsonNode node : array) {
+                    entries.add(jsonMapper.treeToValue(node, Entry.class));
+                }
+            } else {
+                try (InputStream in = Files.newInputStream(file)) {
+                    new AtomFeedParser().parse(in, entries::add);
+                }
+            }
+            int added = index.addAll(entries);
+            Log.info("Imported " + added + " papers into the local index from " + file);
+        } catch (IOException e) {
+            Log.warn("Failed to import " + file + " into the local index: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.index;
+
+import io.github.glaforge.mcp.arxiv.model.Author;
+import io.github.glaforge.mcp.arxiv.model.Category;
+import io.github.glaforge.mcp.arxiv.model.Entry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns paper metadata and search queries into index terms.
+ * <p>
+ * Title and abstract words are plain lower-cased terms. Author names and
+ * categories get an {@code au:} or {@code cat:} prefix, mirroring the arXiv
+ * query syntax, so that {@code au:hinton} or {@code cat:cs.LG} match exactly.
+ */
+public final class Tokenizer {
+
+    static final String AUTHOR_PREFIX = "au:";
+    static final String CATEGORY_PREFIX = "cat:";
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "in", "is", "it",
+        "its", "of", "on", "or", "that", "the", "this", "to", "was", "we", "were", "which", "with");
+
+    private static final Set<String> QUERY_OPERATORS = Set.of("and", "or", "andnot", "not");
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Splits free text into lower-cased words, dropping stop words and single characters.
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWord(words, text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static void addWord(List<String> words, String word) {
+        if (word.length() > 1 && !STOP_WORDS.contains(word)) {
+            words.add(word);
+        }
+    }
+
+    /**
+     * Terms of a paper, with the title counted twice to weigh it above the abstract.
+     */
+    public static List<String> terms(Entry entry) {
+        List<String> terms = new ArrayList<>();
+        List<String> titleWords = words(entry.title);
+        terms.addAll(titleWords);
+        terms.addAll(titleWords);
+        terms.addAll(words(entry.summary));
+        if (entry.authors != null) {
+            for (Author author : entry.authors) {
+                for (String word : words(author.name)) {
+                    terms.add(AUTHOR_PREFIX + word);
+                }
+            }
+        }
+        if (entry.categories != null) {
+            for (Category category : entry.categories) {
+                if (category.term != null) {
+                    terms.add(CATEGORY_PREFIX + category.term.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Distinct words of the title and abstract of a paper, on which papers are
+     * compared to find similar ones.
+     */
+    public static Set<String> shingles(Entry entry) {
+        Set<String> shingles = new HashSet<>(words(entry.title));
+        shingles.addAll(words(entry.summary));
+        return shingles;
+    }
+
+    /**
+     * Terms of a query written either as plain keywords or in the arXiv API syntax
+     * ({@code ti:}, {@code abs:}, {@code au:}, {@code cat:}, {@code all:} and boolean operators).
+     * Boolean operators are ignored: documents are ranked by how well they match all terms.
+     */
+    public static List<String> queryTerms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String clause : query.trim().split("\\s+")) {
+            if (QUERY_OPERATORS.contains(clause.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            int colon = clause.indexOf(':');
+            String field = colon > 0 ? clause.substring(0, colon).toLowerCase(Locale.ROOT) : "all";
+            String value = colon > 0 ? clause.substring(colon + 1) : clause;
+            switch (field) {
+                case "cat" -> {
+                    if (!value.isBlank()) {
+                        terms.add(CATEGORY_PREFIX + value.toLowerCase(Locale.ROOT).replaceAll("[\"()]", ""));
+                    }
+                }
+                case "au" -> words(value).forEach(word -> terms.add(AUTHOR_PREFIX + word));
+                default -> terms.addAll(words(value));
+            }
+        }
+        return terms;
+    }
+}
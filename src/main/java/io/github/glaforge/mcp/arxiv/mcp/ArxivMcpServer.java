@@ -15,13 +15,17 @@
  */
 package io.github.glaforge.mcp.arxiv.mcp;
 
+import io.github.glaforge.mcp.arxiv.model.Entry;
 import io.github.glaforge.mcp.arxiv.model.Feed;
 import io.github.glaforge.mcp.arxiv.model.SortBy;
 import io.github.glaforge.mcp.arxiv.model.SortOrder;
-import io.github.glaforge.mcp.arxiv.service.ArxivClient;
-import io.github.glaforge.mcp.arxiv.service.PdfClient;
+import io.github.glaforge.mcp.arxiv.service.ArxivService;
+import io.github.glaforge.mcp.arxiv.service.EntryProjection;
+import io.github.glaforge.mcp.arxiv.service.NewPapersService;
+import io.github.glaforge.mcp.arxiv.service.PdfService;
+import io.github.glaforge.mcp.arxiv.service.PdfTextService;
+import io.github.glaforge.mcp.arxiv.service.SearchKey;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import io.quarkus.logging.Log;
@@ -34,57 +38,134 @@ import io.quarkiverse.mcp.server.ResourceTemplate;
 import io.quarkiverse.mcp.server.ResourceTemplateArg;
 import io.quarkiverse.mcp.server.TextResourceContents;
 import io.quarkiverse.mcp.server.Tool;
+import io.quarkiverse.mcp.server.ToolArg;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.Base64;
 import java.util.List;
-
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The MCP tools, resources and prompts of the server.
+ * <p>
+ * Searches and paper lookups are non-blocking: they return a {@link Uni} and
+ * run on the event loop, waiting for arXiv without holding any thread. Other
+ * handlers that call arXiv block until it answers, so they run on virtual
+ * threads: a slow upstream then ties up no worker thread, and concurrency
+ * towards arXiv is bounded by the caps of {@link ArxivService} and
+ * {@link PdfService} instead of the size of the worker pool.
+ */
+@Measured
 public class ArxivMcpServer {
 
+    private static final Pattern RANGE = Pattern.compile("(\\d{1,18})(?:-(\\d{0,18}))?");
+
     @Inject
-    @RestClient
-    ArxivClient arxivClient;
+    ArxivService arxivService;
 
     @Inject
-    @RestClient
-    PdfClient pdfClient;
+    NewPapersService newPapersService;
 
-    private final XmlMapper xmlMapper = new XmlMapper();
+    @Inject
+    PdfService pdfService;
+
+    @Inject
+    PdfTextService pdfTextService;
 
     @Tool(
-        description = "Search for papers on arXiv",
+        description = "Search for papers on arXiv. Results are paginated: pass the nextPageToken of a response to get the following page",
         name = "search_papers")
-    public Feed searchPapers(String query, int maxResults, SortBy sortBy, SortOrder sortOrder) {
-        Log.info("searchPapers called with query: " + query + ", maxResults: " + maxResults + ", sortBy: " + sortBy + ", sortOrder: " + sortOrder);
+    public Uni<Feed> searchPapers(String query, int maxResults, SortBy sortBy, SortOrder sortOrder,
+            @ToolArg(description = "Offset of the first result to return (default: 0)", required = false, defaultValue = "0") int start,
+            @ToolArg(description = "nextPageToken from a previous response; replaces the query, sort and paging arguments", required = false) String pageToken,
+            @ToolArg(description = "Entry fields to return, e.g. [\"id\", \"title\", \"summary\"] (default: all fields)", required = false) List<String> fields,
+            @ToolArg(description = "Truncate abstracts to this many characters (default: no limit)", required = false, defaultValue = "0") int summaryMaxChars) {
+        Log.info("searchPapers called with query: " + query + ", maxResults: " + maxResults + ", sortBy: " + sortBy + ", sortOrder: " + sortOrder
+            + ", start: " + start + ", pageToken: " + pageToken + ", fields: " + fields + ", summaryMaxChars: " + summaryMaxChars);
+
+        EntryProjection projection = EntryProjection.of(fields, summaryMaxChars);
+        SearchKey key = pageToken != null && !pageToken.isBlank()
+            ? SearchKey.fromToken(pageToken)
+            : SearchKey.of(query, null, Math.max(0, start), maxResults == 0 ? 5 : maxResults,
+                sortBy == null ? null : sortBy.name(),
+                sortOrder == null ? null : sortOrder.name());
+        return arxivService.searchAsync(key).map(projection::apply);
+    }
 
-        return performSearch(query, null, 0, maxResults == 0 ? 5 : maxResults,
-            sortBy == null ? null : sortBy.name(),
-            sortOrder == null ? null : sortOrder.name());
+    @Tool(
+        description = "Search the papers already known to this server, without calling arXiv. Accepts keywords or the arXiv query syntax (ti:, abs:, au:, cat:)",
+        name = "search_local_papers")
+    @RunOnVirtualThread
+    public Feed searchLocalPapers(String query, int maxResults,
+            @ToolArg(description = "Entry fields to return, e.g. [\"id\", \"title\", \"summary\"] (default: all fields)", required = false) List<String> fields,
+            @ToolArg(description = "Truncate abstracts to this many characters (default: no limit)", required = false, defaultValue = "0") int summaryMaxChars) {
+        Log.info("searchLocalPapers called with query: " + query + ", maxResults: " + maxResults + ", fields: " + fields + ", summaryMaxChars: " + summaryMaxChars);
+
+        EntryProjection projection = EntryProjection.of(fields, summaryMaxChars);
+        return projection.apply(arxivService.searchLocal(query, maxResults == 0 ? 5 : maxResults));
     }
 
     @Tool(
-        description = "Get details for specific arXiv papers by ID",
+        description = "Find papers similar to a given arXiv paper, by the words of their title and abstract, among the papers already known to this server",
+        name = "find_similar_papers")
+    @RunOnVirtualThread
+    public Feed findSimilarPapers(String id, int maxResults,
+            @ToolArg(description = "Entry fields to return, e.g. [\"id\", \"title\", \"summary\"] (default: all fields)", required = false) List<String> fields,
+            @ToolArg(description = "Truncate abstracts to this many characters (default: no limit)", required = false, defaultValue = "0") int summaryMaxChars) {
+        Log.info("findSimilarPapers called with id: " + id + ", maxResults: " + maxResults + ", fields: " + fields + ", summaryMaxChars: " + summaryMaxChars);
+
+        EntryProjection projection = EntryProjection.of(fields, summaryMaxChars);
+        return projection.apply(arxivService.findSimilar(id, maxResults == 0 ? 5 : maxResults));
+    }
+
+    @Tool(
+        description = "Get the papers submitted to an arXiv category or query, newest first. The first call returns the newest papers; "
+            + "pass the sinceToken of a response to get only the papers submitted since. "
+            + "When more papers are new than max_results, pass the nextPageToken of the response as pageToken for the rest, "
+            + "down to the same papers",
+        name = "get_new_papers")
+    @RunOnVirtualThread
+    public Feed getNewPapers(
+            @ToolArg(description = "A category code such as cs.LG or quant-ph, or an arXiv query such as cat:cs.LG AND ti:diffusion", required = false) String query,
+            @ToolArg(description = "sinceToken from a previous response; replaces the query", required = false) String since,
+            @ToolArg(description = "nextPageToken from a previous response; replaces the query and since", required = false) String pageToken,
+            @ToolArg(description = "Maximum number of papers to return (default: 50)", required = false, defaultValue = "0") int maxResults,
+            @ToolArg(description = "Entry fields to return, e.g. [\"id\", \"title\", \"summary\"] (default: all fields)", required = false) List<String> fields,
+            @ToolArg(description = "Truncate abstracts to this many characters (default: no limit)", required = false, defaultValue = "0") int summaryMaxChars) {
+        Log.info("getNewPapers called with query: " + query + ", since: " + since + ", pageToken: " + pageToken
+            + ", maxResults: " + maxResults
+            + ", fields: " + fields + ", summaryMaxChars: " + summaryMaxChars);
+
+        EntryProjection projection = EntryProjection.of(fields, summaryMaxChars);
+        return projection.apply(newPapersService.newPapers(query, since, pageToken, maxResults <= 0 ? 50 : maxResults));
+    }
+
+    @Tool(
+        description = "Get details for specific arXiv papers by ID. Papers that could not be fetched are listed in unavailableIds",
         name = "get_paper_details")
-    public Feed getPaperDetails(List<String> ids) {
-        Log.info("getPaperDetails called with ids: " + ids);
+    public Uni<Feed> getPaperDetails(List<String> ids,
+            @ToolArg(description = "Entry fields to return, e.g. [\"id\", \"title\", \"summary\"] (default: all fields)", required = false) List<String> fields,
+            @ToolArg(description = "Truncate abstracts to this many characters (default: no limit)", required = false, defaultValue = "0") int summaryMaxChars) {
+        Log.info("getPaperDetails called with ids: " + ids + ", fields: " + fields + ", summaryMaxChars: " + summaryMaxChars);
 
-        String idList = String.join(",", ids);
-        return performSearch(null, idList, 0, ids.size(), null, null);
+        EntryProjection projection = EntryProjection.of(fields, summaryMaxChars);
+        return arxivService.findEntriesAsync(ids).map(projection::apply);
     }
 
     @ResourceTemplate(
         uriTemplate = "arxiv://papers/{id}/abstract",
         description = "The abstract of the arXiv paper")
+    @RunOnVirtualThread
     public TextResourceContents getAbstract(@ResourceTemplateArg String id) {
         Log.info("getAbstract called with id: " + id);
 
-        Feed feed = performSearch(null, id, 0, 1, null, null);
-        if (feed.entries != null && !feed.entries.isEmpty()) {
+        Entry entry = arxivService.findEntry(id);
+        if (entry != null) {
             return TextResourceContents.create("arxiv://papers/" + id + "/abstract",
-                feed.entries.get(0).summary);
+                entry.summary);
         }
         throw new RuntimeException("Paper not found: " + id);
     }
@@ -94,14 +175,15 @@ public class ArxivMcpServer {
     @ResourceTemplate(
         uriTemplate = "arxiv://papers/{id}/metadata",
         description = "The full metadata of the arXiv paper", mimeType = "application/json")
+    @RunOnVirtualThread
     public TextResourceContents getMetadata(@ResourceTemplateArg String id) {
         Log.info("getMetadata called with id: " + id);
 
-        Feed feed = performSearch(null, id, 0, 1, null, null);
-        if (feed.entries != null && !feed.entries.isEmpty()) {
+        Entry entry = arxivService.findEntry(id);
+        if (entry != null) {
             try {
                 return TextResourceContents.create("arxiv://papers/" + id + "/metadata",
-                    jsonMapper.writeValueAsString(feed.entries.get(0)));
+                    jsonMapper.writeValueAsString(entry));
             } catch (JsonProcessingException e) {
                 throw new RuntimeException("Failed to serialize paper metadata", e);
             }
@@ -113,27 +195,91 @@ public class ArxivMcpServer {
         uriTemplate = "https://arxiv.org/pdf/{id}",
         description = "The PDF of the arXiv paper encoded in base64",
         mimeType = "application/pdf")
+    @RunOnVirtualThread
     public BlobResourceContents getPdf(@ResourceTemplateArg String id) {
         Log.info("getPdf called with id: " + id);
 
-        try (InputStream is = pdfClient.getPdf(id)) {
-            byte[] bytes = is.readAllBytes();
-            String base64 = Base64.getEncoder().encodeToString(bytes);
-            return new BlobResourceContents("https://arxiv.org/pdf/" + id, base64, "application/pdf");
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to fetch PDF for " + id, e);
+        String base64 = pdfService.fetchBase64(id);
+        return new BlobResourceContents("https://arxiv.org/pdf/" + id, base64, "application/pdf");
+    }
+
+    @ResourceTemplate(
+        uriTemplate = "arxiv://papers/{id}/pdf/pages/{pages}",
+        description = "A PDF made of some pages of the arXiv paper, encoded in base64. Pages are given as 3, 2-5 or 2- (to the end)",
+        mimeType = "application/pdf")
+    @RunOnVirtualThread
+    public BlobResourceContents getPdfPages(@ResourceTemplateArg String id, @ResourceTemplateArg String pages) {
+        Log.info("getPdfPages called with id: " + id + ", pages: " + pages);
+
+        long[] range = parseRange(pages, "page");
+        String base64 = pdfService.fetchPagesBase64(id,
+            (int) Math.min(Integer.MAX_VALUE, range[0]), (int) Math.min(Integer.MAX_VALUE, Math.max(0, range[1])));
+        return new BlobResourceContents("arxiv://papers/" + id + "/pdf/pages/" + pages, base64, "application/pdf");
+    }
+
+    @ResourceTemplate(
+        uriTemplate = "arxiv://papers/{id}/pdf/bytes/{range}",
+        description = "A byte range of the PDF of the arXiv paper, encoded in base64. Ranges are given as 0-65535 or 65536- (to the end), both ends included",
+        mimeType = "application/octet-stream")
+    @RunOnVirtualThread
+    public BlobResourceContents getPdfBytes(@ResourceTemplateArg String id, @ResourceTemplateArg String range) {
+        Log.info("getPdfBytes called with id: " + id + ", range: " + range);
+
+        long[] bytes = parseRange(range, "byte");
+        String base64 = Base64.getEncoder().encodeToString(pdfService.fetchRange(id, bytes[0], bytes[1]));
+        return new BlobResourceContents("arxiv://papers/" + id + "/pdf/bytes/" + range, base64, "application/octet-stream");
+    }
+
+    /**
+     * Parses {@code first-last}, {@code first-} or {@code first}, returning -1 as
+     * the end of an open range.
+     */
+    private static long[] parseRange(String range, String unit) {
+        Matcher matcher = RANGE.matcher(range.strip());
+        if (!matcher.matches()) {
+            throw new RuntimeException("Invalid " + unit + " range: " + range);
         }
+        long first = Long.parseLong(matcher.group(1));
+        if (matcher.group(2) == null) {
+            return new long[] {first, first};
+        }
+        return new long[] {first, matcher.group(2).isEmpty() ? -1 : Long.parseLong(matcher.group(2))};
+    }
+
+    @ResourceTemplate(
+        uriTemplate = "arxiv://papers/{id}/text",
+        description = "The full text of the arXiv paper, extracted from its PDF",
+        mimeType = "text/plain")
+    @RunOnVirtualThread
+    public TextResourceContents getText(@ResourceTemplateArg String id) {
+        Log.info("getText called with id: " + id);
+
+        return TextResourceContents.create("arxiv://papers/" + id + "/text", pdfTextService.text(id, 1, 0, 0));
+    }
+
+    @Tool(
+        description = "Get the text of an arXiv paper, extracted from its PDF. Read long papers a few pages at a time",
+        name = "get_paper_text")
+    @RunOnVirtualThread
+    public String getPaperText(String id,
+            @ToolArg(description = "First page to return, starting at 1 (default: 1)", required = false, defaultValue = "1") int firstPage,
+            @ToolArg(description = "Last page to return (default: the last page of the paper)", required = false, defaultValue = "0") int lastPage,
+            @ToolArg(description = "Cut the text after this many characters (default: no limit)", required = false, defaultValue = "0") int maxChars) {
+        Log.info("getPaperText called with id: " + id + ", firstPage: " + firstPage + ", lastPage: " + lastPage + ", maxChars: " + maxChars);
+
+        return pdfTextService.text(id, firstPage, lastPage, maxChars);
     }
 
     @Prompt(
         name = "summarize_paper",
         description = "Summarize the given paper")
+    @RunOnVirtualThread
     public PromptMessage summarizePaper(String id) {
         Log.info("summarizePaper called with id: " + id);
 
-        Feed feed = performSearch(null, id, 0, 1, null, null);
-        if (feed.entries != null && !feed.entries.isEmpty()) {
-            String summary = feed.entries.get(0).summary;
+        Entry entry = arxivService.findEntry(id);
+        if (entry != null) {
+            String summary = entry.summary;
             return PromptMessage.withUserRole(
                 String.format("""
                     Please summarize this paper abstract (ID: %s):
@@ -230,13 +376,4 @@ public class ArxivMcpServer {
                  You can use this query with the `search_papers` tool.
                 """, query.toString()));
     }
-
-    private Feed performSearch(String searchQuery, String idList, int start, int maxResults, String sortBy, String sortOrder) {
-        String result = arxivClient.search(searchQuery, idList, start, maxResults, sortBy, sortOrder);
-        try {
-            return xmlMapper.readValue(result, Feed.class);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to parse ArXiv response", e);
-        }
-    }
 }
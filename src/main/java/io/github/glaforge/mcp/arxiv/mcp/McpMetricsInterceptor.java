@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.mcp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkiverse.mcp.server.Prompt;
+import io.quarkiverse.mcp.server.Resource;
+import io.quarkiverse.mcp.server.ResourceTemplate;
+import io.quarkiverse.mcp.server.Tool;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.reflect.Method;
+
+/**
+ * Times MCP feature methods into the {@code mcp.server.requests} timer, tagged
+ * with the feature kind, its name, and whether the call succeeded. Methods
+ * returning a {@link Uni} are timed until it terminates, or until it is
+ * cancelled, e.g. when the client goes away.
+ */
+@Measured
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE)
+public class McpMetricsInterceptor {
+
+    static final String METRIC_NAME = "mcp.server.requests";
+
+    @Inject
+    MeterRegistry registry;
+
+    @AroundInvoke
+    Object measure(InvocationContext context) throws Exception {
+        Method method = context.getMethod();
+        String kind;
+        String name;
+        if (method.isAnnotationPresent(Tool.class)) {
+            kind = "tool";
+            name = method.getAnnotation(Tool.class).name();
+        } else if (method.isAnnotationPresent(ResourceTemplate.class)) {
+            kind = "resource_template";
+            name = method.getAnnotation(ResourceTemplate.class).uriTemplate();
+        } else if (method.isAnnotationPresent(Resource.class)) {
+            kind = "resource";
+            name = method.getAnnotation(Resource.class).uri();
+        } else if (method.isAnnotationPresent(Prompt.class)) {
+            kind = "prompt";
+            name = method.getAnnotation(Prompt.class).name();
+        } else {
+            return context.proceed();
+        }
+        if (name == null || name.isEmpty() || name.equals(Tool.ELEMENT_NAME)) {
+            name = method.getName();
+        }
+
+        Timer.Sample sample = Timer.start(registry);
+        Object result;
+        try {
+            result = context.proceed();
+        } catch (Exception e) {
+            stop(sample, kind, name, "error", e.getClass().getSimpleName());
+            throw e;
+        }
+        if (result instanceof Uni<?> uni) {
+            String feature = name;
+            return uni
+                .onItem().invoke(() -> stop(sample, kind, feature, "success", "none"))
+                .onFailure().invoke(e -> stop(sample, kind, feature, "error", e.getClass().getSimpleName()))
+                .onCancellation().invoke(() -> stop(sample, kind, feature, "cancelled", "none"));
+        }
+        stop(sample, kind, name, "success", "none");
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String kind, String name, String outcome, String exception) {
+        sample.stop(Timer.builder(METRIC_NAME)
+            .description("Latency of MCP tool, resource and prompt invocations")
+            .tags("kind", kind, "name", name, "outcome", outcome, "exception", exception)
+            .publishPercentileHistogram()
+            .register(registry));
+    }
+}
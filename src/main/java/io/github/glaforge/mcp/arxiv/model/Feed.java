@@ -20,8 +20,10 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Feed {
     @JacksonXmlProperty(namespace = "http://www.w3.org/2005/Atom")
     public String title;
@@ -36,6 +38,30 @@ public class Feed {
     @JacksonXmlProperty(localName = "link", namespace = "http://www.w3.org/2005/Atom")
     public List<Link> links;
 
+    @JacksonXmlProperty(namespace = "http://a9.com/-/spec/opensearch/1.1/")
+    public Integer totalResults;
+
+    @JacksonXmlProperty(namespace = "http://a9.com/-/spec/opensearch/1.1/")
+    public Integer startIndex;
+
+    @JacksonXmlProperty(namespace = "http://a9.com/-/spec/opensearch/1.1/")
+    public Integer itemsPerPage;
+
+    /**
+     * Opaque token to pass back to {@code search_papers} to get the next page, or null on the last page.
+     */
+    public String nextPageToken;
+
+    /**
+     * Opaque token to pass back to {@code get_new_papers} to get the papers submitted after the ones of this response.
+     */
+    public String sinceToken;
+
+    /**
+     * IDs of a lookup that could not be fetched because arXiv failed, and may be asked for again later.
+     */
+    public List<String> unavailableIds;
+
     @JacksonXmlElementWrapper(useWrapping = false)
     @JacksonXmlProperty(localName = "entry", namespace = "http://www.w3.org/2005/Atom")
     public List<Entry> entries;
@@ -21,15 +21,16 @@ import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.Produces;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
+import java.io.InputStream;
 
-@RegisterRestClient(baseUri = "https://export.arxiv.org/api")
+@RegisterRestClient(baseUri = "https://export.arxiv.org/api", configKey = "arxiv-api")
 @RegisterProvider(ArxivResponseFilter.class)
 public interface ArxivClient {
 
     @GET
     @Path("/query")
     @Produces("*/*")
-    String search(
+    InputStream search(
         @QueryParam("search_query") String searchQuery,
         @QueryParam("id_list") String idList,
         @QueryParam("start") int start,
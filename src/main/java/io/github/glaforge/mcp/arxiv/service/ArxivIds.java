@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+
+import java.util.regex.Pattern;
+
+public final class ArxivIds {
+
+    private static final String ABS_PATH = "/abs/";
+    private static final Pattern VERSION_SUFFIX = Pattern.compile("v\\d+$");
+    // New-style IDs (2601.05230) and old-style ones (hep-th/9901001, math.AG/0309136)
+    private static final Pattern WELL_FORMED = Pattern.compile("(\\d{4}\\.\\d{4,5}|[a-z-]+(\\.[A-Z]{2})?/\\d{7})(v\\d+)?");
+
+    private ArxivIds() {
+    }
+
+    /**
+     * Extracts the bare arXiv ID (e.g. {@code 2601.05230v1}) from the
+     * {@code http://arxiv.org/abs/...} URL that the Atom feed uses as entry ID.
+     * Returns null for entries that are not papers, such as API error entries.
+     */
+    public static String fromEntry(Entry entry) {
+        if (entry == null || entry.id == null) {
+            return null;
+        }
+        int idx = entry.id.indexOf(ABS_PATH);
+        return idx < 0 ? null : entry.id.substring(idx + ABS_PATH.length());
+    }
+
+    public static String normalize(String id) {
+        if (id == null) {
+            return null;
+        }
+        String trimmed = id.trim();
+        int idx = trimmed.indexOf(ABS_PATH);
+        return idx < 0 ? trimmed : trimmed.substring(idx + ABS_PATH.length());
+    }
+
+    /**
+     * Whether the ID has the syntax of an arXiv ID, so that arXiv won't reject a list containing it.
+     */
+    public static boolean isWellFormed(String id) {
+        return id != null && WELL_FORMED.matcher(id).matches();
+    }
+
+    public static boolean isVersioned(String id) {
+        return id != null && VERSION_SUFFIX.matcher(id).find();
+    }
+
+    public static String unversioned(String id) {
+        return id == null ? null : VERSION_SUFFIX.matcher(id).replaceFirst("");
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.index.PaperIndexService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the counters kept by the caches, the rate limiter, the upstream
+ * policies and the request coalescing layers as Micrometer meters.
+ */
+@Singleton
+public class ArxivMeterBinder implements MeterBinder {
+
+    @Inject
+    PaperCache paperCache;
+
+    @Inject
+    ArxivRateLimiter rateLimiter;
+
+    @Inject
+    ArxivService arxivService;
+
+    @Inject
+    PdfDiskCache pdfDiskCache;
+
+    @Inject
+    PdfService pdfService;
+
+    @Inject
+    PdfTextService pdfTextService;
+
+    @Inject
+    PaperIndexService paperIndex;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("arxiv.cache.requests", paperCache, PaperCache::hitCount)
+            .description("Paper metadata cache lookups").tag("cache", "metadata").tag("result", "hit").register(registry);
+        FunctionCounter.builder("arxiv.cache.requests", paperCache, PaperCache::missCount)
+            .tag("cache", "metadata").tag("result", "miss").register(registry);
+        FunctionCounter.builder("arxiv.cache.requests", paperCache, PaperCache::staleHitCount)
+            .tag("cache", "metadata").tag("result", "stale").register(registry);
+        FunctionCounter.builder("arxiv.cache.requests", paperCache, PaperCache::snapshotHitCount)
+            .tag("cache", "metadata").tag("result", "snapshot").register(registry);
+        Gauge.builder("arxiv.cache.size", paperCache, PaperCache::size)
+            .description("Number of entries in the cache").tag("cache", "metadata").register(registry);
+        Gauge.builder("arxiv.cache.size", paperCache, PaperCache::missingSize)
+            .tag("cache", "missing").register(registry);
+
+        FunctionCounter.builder("arxiv.cache.requests", pdfDiskCache, PdfDiskCache::hitCount)
+            .tag("cache", "pdf").tag("result", "hit").register(registry);
+        FunctionCounter.builder("arxiv.cache.requests", pdfDiskCache, PdfDiskCache::missCount)
+            .tag("cache", "pdf").tag("result", "miss").register(registry);
+        Gauge.builder("arxiv.pdf.cache.size", pdfDiskCache, PdfDiskCache::sizeInBytes)
+            .description("Total size of the cached PDFs").baseUnit("bytes").register(registry);
+        FunctionCounter.builder("arxiv.cache.requests", pdfTextService.textCache(), PdfDiskCache::hitCount)
+            .tag("cache", "pdf-text").tag("result", "hit").register(registry);
+        FunctionCounter.builder("arxiv.cache.requests", pdfTextService.textCache(), PdfDiskCache::missCount)
+            .tag("cache", "pdf-text").tag("result", "miss").register(registry);
+        Gauge.builder("arxiv.pdf.text.cache.size", pdfTextService.textCache(), PdfDiskCache::sizeInBytes)
+            .description("Total size of the cached texts extracted from PDFs").baseUnit("bytes").register(registry);
+
+        Gauge.builder("arxiv.ratelimit.queue", rateLimiter, ArxivRateLimiter::queueDepth)
+            .description("Requests waiting for their turn to call arXiv").register(registry);
+        FunctionCounter.builder("arxiv.ratelimit.requests", rateLimiter, ArxivRateLimiter::acquiredCount)
+            .tag("result", "acquired").register(registry);
+        FunctionCounter.builder("arxiv.ratelimit.requests", rateLimiter, ArxivRateLimiter::rejectedCount)
+            .tag("result", "rejected").register(registry);
+        Timer waitTimer = Timer.builder("arxiv.ratelimit.wait")
+            .description("Time each request spent waiting for the rate limiter").publishPercentileHistogram()
+            .register(registry);
+        rateLimiter.onWait(waitNanos -> waitTimer.record(waitNanos, TimeUnit.NANOSECONDS));
+
+        Gauge.builder("arxiv.upstream.in-progress", arxivService, service -> service.concurrencyLimit().inProgress())
+            .description("Calls to arXiv in progress").tag("client", UpstreamMetrics.API).register(registry);
+        Gauge.builder("arxiv.upstream.in-progress", pdfService, service -> service.concurrencyLimit().inProgress())
+            .tag("client", UpstreamMetrics.PDF).register(registry);
+        Gauge.builder("arxiv.upstream.waiting", arxivService, service -> service.concurrencyLimit().waiting())
+            .description("Calls waiting for a free slot under the concurrency cap").tag("client", UpstreamMetrics.API).register(registry);
+        Gauge.builder("arxiv.upstream.waiting", pdfService, service -> service.concurrencyLimit().waiting())
+            .tag("client", UpstreamMetrics.PDF).register(registry);
+
+        bindPolicy(registry, UpstreamMetrics.API, arxivService.upstreamPolicy());
+        bindPolicy(registry, UpstreamMetrics.PDF, pdfService.upstreamPolicy());
+        FunctionCounter.builder("arxiv.upstream.hedges", arxivService, service -> service.upstreamPolicy().hedgeCount())
+            .description("Hedge requests sent for slow ID lookups").tag("client", UpstreamMetrics.API).tag("result", "sent")
+            .register(registry);
+        FunctionCounter.builder("arxiv.upstream.hedges", arxivService, service -> service.upstreamPolicy().hedgeWinCount())
+            .tag("client", UpstreamMetrics.API).tag("result", "won").register(registry);
+
+        FunctionCounter.builder("arxiv.search.executions", arxivService, ArxivService::searchExecutionCount)
+            .description("arXiv queries actually sent").register(registry);
+        FunctionCounter.builder("arxiv.search.shared", arxivService, ArxivService::sharedSearchCount)
+            .description("Queries answered by an identical query already in flight").register(registry);
+        FunctionCounter.builder("arxiv.batch.batches", arxivService, ArxivService::batchCount)
+            .description("id_list queries sent for batched single-paper lookups").register(registry);
+        FunctionCounter.builder("arxiv.batch.lookups", arxivService, ArxivService::batchedLookupCount)
+            .description("Single-paper lookups sent through the batcher").register(registry);
+
+        Gauge.builder("arxiv.index.papers", paperIndex, PaperIndexService::size)
+            .description("Papers in the local search index").register(registry);
+    }
+
+    private static void bindPolicy(MeterRegistry registry, String client, UpstreamPolicy policy) {
+        FunctionCounter.builder("arxiv.upstream.retries", policy, UpstreamPolicy::retryCount)
+            .description("Calls to arXiv retried after a transient failure").tag("client", client).register(registry);
+        Gauge.builder("arxiv.upstream.circuit.open", policy, p -> p.circuitBreaker().isOpen() ? 1 : 0)
+            .description("Whether calls to arXiv fail fast after repeated failures").tag("client", client).register(registry);
+        FunctionCounter.builder("arxiv.upstream.circuit.opened", policy, p -> p.circuitBreaker().openedCount())
+            .description("Times the circuit breaker opened").tag("client", client).register(registry);
+        FunctionCounter.builder("arxiv.upstream.circuit.rejections", policy, p -> p.circuitBreaker().rejectedCount())
+            .description("Calls failed fast while the circuit breaker was open").tag("client", client).register(registry);
+    }
+}
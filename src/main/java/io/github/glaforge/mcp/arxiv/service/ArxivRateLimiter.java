@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket pacing all calls to the arXiv export API, which asks clients
+ * to send no more than one request every three seconds.
+ * <p>
+ * Each caller reserves the next free slot in arrival order, then sleeps until
+ * that slot, so concurrent sessions are served first come, first served.
+ * Callers are rejected instead of queued when the queue is full or when their
+ * slot is further away than the configured timeout.
+ */
+@ApplicationScoped
+public class ArxivRateLimiter {
+
+    private final long intervalNanos;
+    private final double burst;
+    private final int maxQueue;
+    private final long timeoutNanos;
+    private final LongSupplier nanoTime;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile LongConsumer waitListener = waitNanos -> { };
+
+    @Inject
+    public ArxivRateLimiter(
+        @ConfigProperty(name = "arxiv.rate-limit.period", defaultValue = "PT3S") Duration period,
+        @ConfigProperty(name = "arxiv.rate-limit.burst", defaultValue = "1") int burst,
+        @ConfigProperty(name = "arxiv.rate-limit.max-queue", defaultValue = "100") int maxQueue,
+        @ConfigProperty(name = "arxiv.rate-limit.timeout", defaultValue = "PT60S") Duration timeout) {
+        this(period, burst, maxQueue, timeout, System::nanoTime);
+    }
+
+    ArxivRateLimiter(Duration period, int burst, int maxQueue, Duration timeout, LongSupplier nanoTime) {
+        this.intervalNanos = period.toNanos();
+        this.burst = Math.max(1, burst);
+        this.maxQueue = maxQueue;
+        this.timeoutNanos = timeout.toNanos();
+        this.nanoTime = nanoTime;
+        this.tokens = this.burst;
+        this.lastRefillNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Blocks until the caller is allowed to send one request upstream.
+     *
+     * @throws RuntimeException if the queue is full, the wait would exceed the
+     *                          timeout, or the thread is interrupted
+     */
+    public void acquire() {
+        long waitNanos = enqueue();
+        try {
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            granted(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for arXiv rate limit", e);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #acquire()}: the returned {@link Uni}
+     * completes when the caller's slot comes, without holding a thread meanwhile,
+     * and fails right away when the caller is rejected.
+     */
+    public Uni<Void> acquireAsync() {
+        return Uni.createFrom().deferred(() -> {
+            long waitNanos;
+            try {
+                waitNanos = enqueue();
+            } catch (RuntimeException e) {
+                return Uni.createFrom().failure(e);
+            }
+            Uni<Void> slot = Uni.createFrom().voidItem();
+            if (waitNanos > 0) {
+                slot = slot.onItem().delayIt().by(Duration.ofNanos(waitNanos));
+            }
+            // Cancelling a caller that already got its slot terminates it a second time
+            AtomicBoolean left = new AtomicBoolean();
+            return slot
+                .invoke(() -> granted(waitNanos))
+                .eventually(() -> {
+                    if (left.compareAndSet(false, true)) {
+                        queued.decrementAndGet();
+                    }
+                });
+        });
+    }
+
+    /**
+     * Joins the queue and reserves a slot, returning how long to wait for it.
+     * On success the caller must leave the queue once its wait is over.
+     */
+    private long enqueue() {
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new RuntimeException("Too many pending arXiv requests, try again later");
+        }
+        long waitNanos = reserve();
+        if (waitNanos < 0) {
+            queued.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new RuntimeException("Timed out waiting for arXiv rate limit");
+        }
+        return waitNanos;
+    }
+
+    private void granted(long waitNanos) {
+        acquired.incrementAndGet();
+        waitListener.accept(waitNanos);
+    }
+
+    /**
+     * Reserves the next slot and returns how long the caller has to wait for it,
+     * or -1 without reserving anything if that wait would exceed the timeout.
+     * Tokens go negative while callers are queued, so each reservation pushes
+     * the following one back by one interval.
+     */
+    synchronized long reserve() {
+        long now = nanoTime.getAsLong();
+        tokens = Math.min(burst, tokens + (double) (now - lastRefillNanos) / intervalNanos);
+        lastRefillNanos = now;
+        double remaining = tokens - 1;
+        long waitNanos = remaining >= 0 ? 0 : (long) (-remaining * intervalNanos);
+        if (waitNanos > timeoutNanos) {
+            return -1;
+        }
+        tokens = remaining;
+        return waitNanos;
+    }
+
+    public int queueDepth() {
+        return queued.get();
+    }
+
+    public long acquiredCount() {
+        return acquired.get();
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Registers the listener told how long, in nanoseconds, each granted
+     * caller waited for its slot.
+     */
+    public void onWait(LongConsumer listener) {
+        this.waitListener = listener;
+    }
+}
@@ -23,6 +23,10 @@ import java.io.IOException;
 public class ArxivResponseFilter implements ClientResponseFilter {
     @Override
     public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+        // Failed requests, such as timed-out ones, go through filters without any headers
+        if (responseContext.getHeaders() == null) {
+            return;
+        }
         if (responseContext.getMediaType() != null &&
             responseContext.getMediaType().toString().contains("application/atom+xml")) {
             responseContext.getHeaders().putSingle("Content-Type", "application/xml");
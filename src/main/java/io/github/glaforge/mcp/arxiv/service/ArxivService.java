@@ -0,0 +1,619 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.index.PaperIndex;
+import io.github.glaforge.mcp.arxiv.index.PaperIndexService;
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ProcessingException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Single entry point for arXiv API lookups: serves cached entries when possible,
+ * paces every upstream call through the {@link ArxivRateLimiter}, and retries
+ * transient failures through an {@link UpstreamPolicy}.
+ * <p>
+ * Searches and ID lookups also come in a non-blocking flavor, returning a
+ * {@link Uni} that waits for the rate limiter and for arXiv without holding a
+ * thread. Both flavors share the same caches, limits and in-flight queries.
+ */
+@ApplicationScoped
+public class ArxivService {
+
+    @Inject
+    @RestClient
+    ArxivClient arxivClient;
+
+    @Inject
+    @RestClient
+    ReactiveArxivClient reactiveArxivClient;
+
+    @Inject
+    ArxivRateLimiter rateLimiter;
+
+    @Inject
+    PaperCache paperCache;
+
+    @Inject
+    PaperIndexService paperIndex;
+
+    @Inject
+    UpstreamMetrics upstreamMetrics;
+
+    @ConfigProperty(name = "arxiv.api.max-concurrent-requests", defaultValue = "4")
+    int maxConcurrentRequests;
+
+    @ConfigProperty(name = "arxiv.api.queue-timeout", defaultValue = "PT60S")
+    Duration queueTimeout;
+
+    @ConfigProperty(name = "arxiv.retry.max-attempts", defaultValue = "3")
+    int maxAttempts;
+
+    @ConfigProperty(name = "arxiv.retry.initial-backoff", defaultValue = "PT1S")
+    Duration initialBackoff;
+
+    @ConfigProperty(name = "arxiv.retry.max-backoff", defaultValue = "PT10S")
+    Duration maxBackoff;
+
+    @ConfigProperty(name = "arxiv.circuit-breaker.failure-threshold", defaultValue = "5")
+    int failureThreshold;
+
+    @ConfigProperty(name = "arxiv.circuit-breaker.open-duration", defaultValue = "PT30S")
+    Duration openDuration;
+
+    @ConfigProperty(name = "arxiv.api.hedge-delay", defaultValue = "PT0S")
+    Duration hedgeDelay;
+
+    @ConfigProperty(name = "arxiv.batch.window", defaultValue = "PT0.05S")
+    Duration batchWindow;
+
+    @ConfigProperty(name = "arxiv.batch.max-size", defaultValue = "50")
+    int batchMaxSize;
+
+    @ConfigProperty(name = "arxiv.search.prefetch-next-page", defaultValue = "false")
+    boolean prefetchNextPage;
+
+    @ConfigProperty(name = "arxiv.search.prefetch-ttl", defaultValue = "PT5M")
+    Duration prefetchTtl;
+
+    private final AtomFeedParser feedParser = new AtomFeedParser();
+
+    private final SingleFlight<SearchKey, Feed> inFlightSearches = new SingleFlight<>();
+
+    private IdBatcher idBatcher;
+    private ConcurrencyLimit requests;
+    private UpstreamPolicy policy;
+
+    private Cache<SearchKey, Feed> prefetchedPages;
+    private ExecutorService background;
+    private final AtomicBoolean prefetching = new AtomicBoolean();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        requests = new ConcurrencyLimit("arXiv API requests", maxConcurrentRequests, queueTimeout);
+        policy = new UpstreamPolicy("arXiv API request", maxAttempts, initialBackoff, maxBackoff,
+            new CircuitBreaker("arXiv API", failureThreshold, openDuration));
+        idBatcher = new IdBatcher(batchWindow, batchMaxSize,
+            ids -> search(null, String.join(",", ids), 0, ids.size(), null, null));
+        prefetchedPages = Caffeine.newBuilder()
+            .maximumSize(64)
+            .expireAfterWrite(prefetchTtl)
+            .build();
+        background = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "arxiv-background");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        background.shutdownNow();
+    }
+
+    /**
+     * Queries the arXiv API. Identical queries issued while one is already in
+     * flight share its response, so the returned {@link Feed} must not be modified.
+     */
+    public Feed search(String searchQuery, String idList, int start, int maxResults, String sortBy, String sortOrder) {
+        return search(SearchKey.of(searchQuery, idList, start, maxResults, sortBy, sortOrder));
+    }
+
+    /**
+     * Runs the given query, typically decoded from a continuation token with {@link SearchKey#fromToken(String)}.
+     */
+    public Feed search(SearchKey key) {
+        Feed feed = prefetchedPages.asMap().remove(key);
+        if (feed == null) {
+            feed = inFlightSearches.execute(key, () -> fetch(key));
+        }
+        if (prefetchNextPage && feed.nextPageToken != null) {
+            prefetch(key.nextPage(feed));
+        }
+        return feed;
+    }
+
+    /**
+     * Non-blocking variant of {@link #search(SearchKey)}.
+     */
+    public Uni<Feed> searchAsync(SearchKey key) {
+        return Uni.createFrom().deferred(() -> {
+            Feed prefetched = prefetchedPages.asMap().remove(key);
+            Uni<Feed> feed = prefetched != null
+                ? Uni.createFrom().item(prefetched)
+                : inFlightSearches.executeAsync(key, () -> fetchAsync(key));
+            return feed.invoke(result -> {
+                if (prefetchNextPage && result.nextPageToken != null) {
+                    prefetch(key.nextPage(result));
+                }
+            });
+        });
+    }
+
+    /**
+     * Fetches the next page in the background while the client reads the current
+     * one. Only one page is prefetched at a time, and only when no request is
+     * waiting for the rate limiter, so prefetching never delays a client.
+     */
+    private void prefetch(SearchKey next) {
+        if (prefetchedPages.getIfPresent(next) != null || rateLimiter.queueDepth() > 0
+                || !prefetching.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            background.execute(() -> {
+                try {
+                    prefetchedPages.put(next, inFlightSearches.execute(next, () -> fetch(next)));
+                } catch (RuntimeException e) {
+                    Log.debug("Prefetch of " + next + " failed: " + e.getMessage());
+                } finally {
+                    prefetching.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            prefetching.set(false);
+        }
+    }
+
+    /**
+     * Fetches one page of results for a bulk harvest, handing entries to the
+     * consumer as they are parsed. Harvested pages bypass the paper cache and the
+     * sharing of in-flight queries, but still wait for the rate limiter.
+     * A page failing midway is fetched again whole, so the consumer may see some
+     * entries twice. Returns the feed header, without entries.
+     */
+    public Feed harvestPage(String searchQuery, int start, int maxResults, Consumer<Entry> consumer) {
+        return policy.execute(() -> {
+            rateLimiter.acquire();
+            requests.acquire(searchQuery);
+            try (InputStream in = upstreamMetrics.call(UpstreamMetrics.API,
+                    () -> arxivClient.search(searchQuery, null, start, maxResults, "submittedDate", "ascending"))) {
+                long parseStart = System.nanoTime();
+                int[] count = new int[1];
+                Feed feed = feedParser.parse(in, entry -> {
+                    count[0]++;
+                    consumer.accept(entry);
+                });
+                upstreamMetrics.recordParse(System.nanoTime() - parseStart, count[0]);
+                return feed;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to parse ArXiv response", e);
+            } finally {
+                requests.release();
+            }
+        });
+    }
+
+    private Feed fetch(SearchKey key) {
+        if (isHedged(key)) {
+            return fetchAsync(key).await().indefinitely();
+        }
+        Feed feed = policy.execute(() -> fetchOnce(key));
+        SearchKey next = key.nextPage(feed);
+        if (next != null) {
+            feed.nextPageToken = next.toToken();
+        }
+        cacheEntries(feed, key.idList());
+        paperIndex.index(feed.entries);
+        return feed;
+    }
+
+    private Feed fetchOnce(SearchKey key) {
+        rateLimiter.acquire();
+        requests.acquire(requestId(key));
+        Feed feed;
+        try (InputStream in = upstreamMetrics.call(UpstreamMetrics.API,
+                () -> arxivClient.search(key.searchQuery(), key.idList(), key.start(), key.maxResults(),
+                    key.sortBy(), key.sortOrder()))) {
+            long parseStart = System.nanoTime();
+            feed = feedParser.parse(in);
+            upstreamMetrics.recordParse(System.nanoTime() - parseStart, feed.entries.size());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse ArXiv response", e);
+        } finally {
+            requests.release();
+        }
+        return feed;
+    }
+
+    /**
+     * Non-blocking variant of {@link #fetch(SearchKey)}. The response is parsed
+     * on the thread that receives it, but indexing may wait for the index to be
+     * saved to disk, so it is left to the background executor.
+     * <p>
+     * ID lookups are hedged when a hedge delay is set: they are small, and a
+     * second request sent while the first is stuck often answers sooner.
+     */
+    private Uni<Feed> fetchAsync(SearchKey key) {
+        Supplier<Uni<Feed>> attempt = () -> fetchOnceAsync(key);
+        if (isHedged(key)) {
+            // A hedge is only worth sending when it does not delay another request
+            Supplier<Uni<Feed>> single = attempt;
+            attempt = () -> policy.hedged(single, hedgeDelay, () -> rateLimiter.queueDepth() == 0);
+        }
+        return policy.executeAsync(attempt)
+            .map(feed -> {
+                SearchKey next = key.nextPage(feed);
+                if (next != null) {
+                    feed.nextPageToken = next.toToken();
+                }
+                cacheEntries(feed, key.idList());
+                indexInBackground(feed.entries);
+                return feed;
+            });
+    }
+
+    private Uni<Feed> fetchOnceAsync(SearchKey key) {
+        return rateLimiter.acquireAsync()
+            .chain(() -> requests.runAsync(requestId(key), () -> upstreamMetrics.callAsync(UpstreamMetrics.API,
+                () -> reactiveArxivClient.search(key.searchQuery(), key.idList(), key.start(), key.maxResults(),
+                        key.sortBy(), key.sortOrder())
+                    // Transport errors, such as a pooled connection closed by the server, come as bare
+                    // IOExceptions: wrap them like the blocking client does, so that they are retried
+                    .onFailure(IOException.class).transform(ProcessingException::new))))
+            .map(body -> {
+                try {
+                    long parseStart = System.nanoTime();
+                    Feed feed = feedParser.parse(new ByteArrayInputStream(body));
+                    upstreamMetrics.recordParse(System.nanoTime() - parseStart, feed.entries.size());
+                    return feed;
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to parse ArXiv response", e);
+                }
+            });
+    }
+
+    private boolean isHedged(SearchKey key) {
+        return key.idList() != null && hedgeDelay.isPositive();
+    }
+
+    private static String requestId(SearchKey key) {
+        return key.idList() != null ? key.idList() : key.searchQuery();
+    }
+
+    private void indexInBackground(List<Entry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        try {
+            background.execute(() -> paperIndex.index(entries));
+        } catch (RejectedExecutionException e) {
+            Log.debug("Indexing of " + entries.size() + " entries skipped: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Answers a query from the local index of papers already fetched or imported.
+     * When nothing matches and the remote fallback is enabled, queries arXiv instead.
+     */
+    public Feed searchLocal(String query, int maxResults) {
+        List<Entry> entries = new ArrayList<>();
+        for (PaperIndex.Hit hit : paperIndex.search(query, maxResults)) {
+            entries.add(hit.entry());
+        }
+        if (entries.isEmpty() && paperIndex.isRemoteFallback()) {
+            return search(query, null, 0, maxResults, null, null);
+        }
+        Feed feed = new Feed();
+        feed.title = "Local index results for " + query;
+        feed.entries = entries;
+        return feed;
+    }
+
+    /**
+     * Returns the papers of the local index most similar to the given one, by the
+     * words of their title and abstract. Only the paper itself is looked up on
+     * arXiv, and only when the index does not have it.
+     */
+    public Feed findSimilar(String id, int maxResults) {
+        Entry entry = paperIndex.get(id);
+        if (entry == null) {
+            entry = findEntry(id);
+        }
+        if (entry == null) {
+            throw new RuntimeException("Paper not found: " + id);
+        }
+        List<Entry> entries = new ArrayList<>();
+        for (PaperIndex.Hit hit : paperIndex.similar(entry, maxResults)) {
+            entries.add(hit.entry());
+        }
+        Feed feed = new Feed();
+        feed.title = "Papers similar to " + id;
+        feed.entries = entries;
+        return feed;
+    }
+
+    /**
+     * Returns the entry for the given ID, or null if arXiv does not know it.
+     * A stale cached entry is returned right away and refreshed in the background.
+     */
+    public Entry findEntry(String id) {
+        PaperCache.Hit hit = paperCache.lookup(id);
+        if (hit != null) {
+            if (hit.stale()) {
+                refreshInBackground(id);
+            }
+            return hit.entry();
+        }
+        if (paperCache.isMissing(id)) {
+            return null;
+        }
+        Entry entry = idBatcher.lookup(id);
+        if (entry == null) {
+            paperCache.markMissing(id);
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the entries for the given IDs, in the same order. The ones not cached
+     * are fetched in queries of at most {@code arxiv.batch.max-size} IDs, sent
+     * concurrently within the limits on arXiv requests.
+     * <p>
+     * When some of these queries fail, or while the circuit breaker is open, the
+     * entries at hand are returned and the others listed in
+     * {@link Feed#unavailableIds}. The lookup only fails if nothing could be found.
+     */
+    public Feed findEntries(List<String> ids) {
+        return findEntriesAsync(ids).await().indefinitely();
+    }
+
+    /**
+     * Non-blocking variant of {@link #findEntries(List)}.
+     */
+    public Uni<Feed> findEntriesAsync(List<String> ids) {
+        return Uni.createFrom().deferred(() -> {
+            Lookup lookup = lookup(ids);
+            if (lookup.isServedFromCache()) {
+                return Uni.createFrom().item(assemble(lookup, List.of()));
+            }
+            List<Uni<Chunk>> fetches = new ArrayList<>();
+            for (int start = 0; start < lookup.misses().size(); start += batchMaxSize) {
+                List<String> chunk = lookup.misses().subList(start, Math.min(start + batchMaxSize, lookup.misses().size()));
+                fetches.add(searchAsync(SearchKey.of(null, String.join(",", chunk), 0, chunk.size(), null, null))
+                    .map(feed -> new Chunk(chunk, feed, null))
+                    .onFailure().recoverWithItem(failure -> new Chunk(chunk, null, failure)));
+            }
+            return Uni.join().all(fetches).andFailFast()
+                .map(chunks -> assemble(lookup, chunks));
+        });
+    }
+
+    private Lookup lookup(List<String> ids) {
+        List<String> misses = new ArrayList<>();
+        Map<String, Entry> hits = new HashMap<>();
+        for (String id : ids) {
+            PaperCache.Hit hit = paperCache.lookup(id);
+            if (hit == null) {
+                if (!paperCache.isMissing(id)) {
+                    misses.add(id);
+                }
+            } else {
+                hits.put(id, hit.entry());
+                if (hit.stale()) {
+                    refreshInBackground(id);
+                }
+            }
+        }
+        return new Lookup(ids, hits, misses, policy.circuitBreaker().isOpen());
+    }
+
+    /**
+     * The cached entries of an ID lookup, and the IDs left to fetch from arXiv.
+     */
+    private record Lookup(List<String> ids, Map<String, Entry> hits, List<String> misses, boolean upstreamDown) {
+
+        /**
+         * Whether the lookup is answered from the cache alone: either every ID is
+         * cached, or arXiv is failing and the cached entries are all there is.
+         */
+        boolean isServedFromCache() {
+            return misses.isEmpty() || (upstreamDown && !hits.isEmpty());
+        }
+    }
+
+    /**
+     * The IDs of one query of an ID lookup, and the feed it fetched or how it failed.
+     */
+    private record Chunk(List<String> ids, Feed fetched, Throwable failure) {
+    }
+
+    /**
+     * Merges the cached entries of a lookup with the feeds fetched for its misses,
+     * keeping the order of the requested IDs. Fails with the first failed query
+     * if no entry could be found at all.
+     */
+    private Feed assemble(Lookup lookup, List<Chunk> chunks) {
+        Feed feed = new Feed();
+        List<String> unavailable = new ArrayList<>();
+        Throwable failure = null;
+        boolean described = false;
+        for (Chunk chunk : chunks) {
+            if (chunk.failure() != null) {
+                Log.warn("Lookup of " + chunk.ids().size() + " papers failed: " + chunk.failure().getMessage());
+                unavailable.addAll(chunk.ids());
+                failure = failure == null ? chunk.failure() : failure;
+                continue;
+            }
+            Feed fetched = chunk.fetched();
+            rememberMissing(chunk.ids(), fetched);
+            if (chunks.size() == 1 && lookup.misses().size() == lookup.ids().size()) {
+                return fetched;
+            }
+            if (!described) {
+                feed.title = fetched.title;
+                feed.id = fetched.id;
+                feed.updated = fetched.updated;
+                feed.links = fetched.links;
+                described = true;
+            }
+        }
+        if (failure != null && !described && lookup.hits().isEmpty()) {
+            throw failure instanceof RuntimeException runtime ? runtime : new RuntimeException(failure);
+        }
+        if (chunks.isEmpty()) {
+            // Served from the cache alone, while arXiv is down
+            unavailable.addAll(lookup.misses());
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        for (String id : lookup.ids()) {
+            Entry entry = lookup.hits().containsKey(id) ? lookup.hits().get(id) : paperCache.get(id);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        feed.entries = entries;
+        feed.unavailableIds = unavailable.isEmpty() ? null : unavailable;
+        return feed;
+    }
+
+    private void rememberMissing(List<String> ids, Feed fetched) {
+        if (fetched.entries != null) {
+            for (Entry entry : fetched.entries) {
+                if (ArxivIds.fromEntry(entry) == null) {
+                    // An error entry means the list was rejected, not that the papers are missing
+                    return;
+                }
+            }
+        }
+        for (String id : ids) {
+            if (paperCache.get(id) == null) {
+                paperCache.markMissing(id);
+            }
+        }
+    }
+
+    /**
+     * Re-fetches a stale entry once, on the background executor. Failures are
+     * ignored: the stale entry keeps being served until it expires for good.
+     */
+    private void refreshInBackground(String id) {
+        String key = ArxivIds.normalize(id);
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            background.execute(() -> {
+                try {
+                    idBatcher.lookup(key);
+                } catch (RuntimeException e) {
+                    Log.debug("Refresh of " + key + " failed: " + e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    public ConcurrencyLimit concurrencyLimit() {
+        return requests;
+    }
+
+    public UpstreamPolicy upstreamPolicy() {
+        return policy;
+    }
+
+    public long searchExecutionCount() {
+        return inFlightSearches.executionCount();
+    }
+
+    public long sharedSearchCount() {
+        return inFlightSearches.sharedCount();
+    }
+
+    public long batchCount() {
+        return idBatcher.batchCount();
+    }
+
+    public long batchedLookupCount() {
+        return idBatcher.lookupCount();
+    }
+
+    private void cacheEntries(Feed feed, String idList) {
+        if (feed.entries == null) {
+            return;
+        }
+        // Search results and unversioned ID lookups always return the latest version
+        Set<String> unversionedRequests = new HashSet<>();
+        if (idList != null) {
+            for (String id : idList.split(",")) {
+                String normalized = ArxivIds.normalize(id);
+                if (!ArxivIds.isVersioned(normalized)) {
+                    unversionedRequests.add(normalized);
+                }
+            }
+        }
+        for (Entry entry : feed.entries) {
+            String versionedId = ArxivIds.fromEntry(entry);
+            if (versionedId != null) {
+                paperCache.put(entry, idList == null
+                    || unversionedRequests.contains(ArxivIds.unversioned(versionedId)));
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Author;
+import io.github.glaforge.mcp.arxiv.model.Category;
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import io.github.glaforge.mcp.arxiv.model.Link;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Streaming parser for the Atom feeds returned by the arXiv API.
+ * <p>
+ * Reads the response incrementally with StAX and hands every {@link Entry} to
+ * the caller as soon as its closing tag is read, instead of buffering the whole
+ * document first. It fills the same model classes as the Jackson XML bindings.
+ */
+public class AtomFeedParser {
+
+    static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    static final String ARXIV_NS = "http://arxiv.org/schemas/atom";
+    static final String OPENSEARCH_NS = "http://a9.com/-/spec/opensearch/1.1/";
+
+    private final XMLInputFactory inputFactory;
+
+    public AtomFeedParser() {
+        inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    /**
+     * Parses the whole feed, collecting all entries into {@link Feed#entries}.
+     */
+    public Feed parse(InputStream in) throws IOException {
+        ArrayList<Entry> entries = new ArrayList<>();
+        Feed feed = parse(in, entries::add);
+        feed.entries = entries;
+        return feed;
+    }
+
+    /**
+     * Parses the feed, passing each entry to {@code entryConsumer} as soon as it
+     * is complete. The returned feed holds the feed-level fields only.
+     */
+    public Feed parse(InputStream in, Consumer<Entry> entryConsumer) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(in);
+            Feed feed = new Feed();
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT || reader.getLocalName().equals("feed")) {
+                    continue;
+                }
+                String ns = reader.getNamespaceURI();
+                String name = reader.getLocalName();
+                if (ATOM_NS.equals(ns)) {
+                    switch (name) {
+                        case "entry" -> entryConsumer.accept(readEntry(reader));
+                        case "title" -> feed.title = reader.getElementText();
+                        case "id" -> feed.id = reader.getElementText();
+                        case "updated" -> feed.updated = reader.getElementText();
+                        case "link" -> {
+                            if (feed.links == null) {
+                                feed.links = new ArrayList<>();
+                            }
+                            feed.links.add(readLink(reader));
+                        }
+                        default -> skipElement(reader);
+                    }
+                } else if (OPENSEARCH_NS.equals(ns)) {
+                    switch (name) {
+                        case "totalResults" -> feed.totalResults = readInteger(reader);
+                        case "startIndex" -> feed.startIndex = readInteger(reader);
+                        case "itemsPerPage" -> feed.itemsPerPage = readInteger(reader);
+                        default -> skipElement(reader);
+                    }
+                } else {
+                    skipElement(reader);
+                }
+            }
+            return feed;
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed Atom feed", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                }
+            }
+        }
+    }
+
+    private Entry readEntry(XMLStreamReader reader) throws XMLStreamException {
+        Entry entry = new Entry();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String ns = reader.getNamespaceURI();
+            String name = reader.getLocalName();
+            if (ATOM_NS.equals(ns)) {
+                switch (name) {
+                    case "id" -> entry.id = reader.getElementText();
+                    case "updated" -> entry.updated = reader.getElementText();
+                    case "published" -> entry.published = reader.getElementText();
+                    case "title" -> entry.title = reader.getElementText();
+                    case "summary" -> entry.summary = reader.getElementText();
+                    case "author" -> {
+                        if (entry.authors == null) {
+                            entry.authors = new ArrayList<>();
+                        }
+                        entry.authors.add(readAuthor(reader));
+                    }
+                    case "link" -> {
+                        if (entry.links == null) {
+                            entry.links = new ArrayList<>();
+                        }
+                        entry.links.add(readLink(reader));
+                    }
+                    case "category" -> {
+                        if (entry.categories == null) {
+                            entry.categories = new ArrayList<>();
+                        }
+                        entry.categories.add(readCategory(reader));
+                    }
+                    default -> skipElement(reader);
+                }
+            } else if (ARXIV_NS.equals(ns)) {
+                switch (name) {
+                    case "primary_category" -> entry.primaryCategory = readCategory(reader);
+                    case "comment" -> entry.comment = reader.getElementText();
+                    case "journal_ref" -> entry.journalRef = reader.getElementText();
+                    case "doi" -> entry.doi = reader.getElementText();
+                    default -> skipElement(reader);
+                }
+            } else {
+                skipElement(reader);
+            }
+        }
+        return entry;
+    }
+
+    private Author readAuthor(XMLStreamReader reader) throws XMLStreamException {
+        Author author = new Author();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            if (ATOM_NS.equals(reader.getNamespaceURI()) && name.equals("name")) {
+                author.name = reader.getElementText();
+            } else if (ARXIV_NS.equals(reader.getNamespaceURI()) && name.equals("affiliation")) {
+                author.affiliation = reader.getElementText();
+            } else {
+                skipElement(reader);
+            }
+        }
+        return author;
+    }
+
+    private Link readLink(XMLStreamReader reader) throws XMLStreamException {
+        Link link = new Link();
+        link.href = reader.getAttributeValue(null, "href");
+        link.rel = reader.getAttributeValue(null, "rel");
+        link.title = reader.getAttributeValue(null, "title");
+        link.type = reader.getAttributeValue(null, "type");
+        skipElement(reader);
+        return link;
+    }
+
+    private Category readCategory(XMLStreamReader reader) throws XMLStreamException {
+        Category category = new Category();
+        category.term = reader.getAttributeValue(null, "term");
+        category.scheme = reader.getAttributeValue(null, "scheme");
+        skipElement(reader);
+        return category;
+    }
+
+    private static Integer readInteger(XMLStreamReader reader) throws XMLStreamException {
+        String text = reader.getElementText().trim();
+        try {
+            return Integer.valueOf(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Advances the reader to the end tag matching the current start tag.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+}
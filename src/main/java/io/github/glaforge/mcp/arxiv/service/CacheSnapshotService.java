@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a snapshot of the {@link PaperCache} on disk, so that a new instance
+ * starts with the metadata its predecessors had fetched: the snapshot is mapped
+ * at startup, saved periodically when the cache changed, and on shutdown.
+ */
+@ApplicationScoped
+public class CacheSnapshotService {
+
+    @Inject
+    PaperCache paperCache;
+
+    @ConfigProperty(name = "arxiv.cache.snapshot.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "arxiv.cache.snapshot.file", defaultValue = "${java.io.tmpdir}/arxiv-mcp-server/cache.bin")
+    Path snapshotFile;
+
+    @ConfigProperty(name = "arxiv.cache.snapshot.save-interval", defaultValue = "PT5M")
+    Duration saveInterval;
+
+    private ScheduledExecutorService saver;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (Files.exists(snapshotFile)) {
+            try {
+                long start = System.nanoTime();
+                PaperCacheSnapshot snapshot = PaperCacheSnapshot.open(snapshotFile);
+                paperCache.attach(snapshot);
+                Log.info("Mapped cache snapshot with " + snapshot.size() + " keys in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            } catch (IOException | RuntimeException e) {
+                Log.warn("Ignoring unreadable cache snapshot " + snapshotFile + ": " + e.getMessage());
+            }
+        }
+
+        saver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "arxiv-cache-saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = saveInterval.toMillis();
+        saver.scheduleWithFixedDelay(this::saveIfDirty, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (saver != null) {
+            saver.shutdownNow();
+        }
+        if (enabled) {
+            saveIfDirty();
+        }
+    }
+
+    public void saveIfDirty() {
+        if (!paperCache.isDirty()) {
+            return;
+        }
+        try {
+            paperCache.saveSnapshot(snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            // Also catch runtime failures, which would cancel the periodic save for good
+            Log.warn("Failed to save cache snapshot to " + snapshotFile + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling an upstream that keeps failing. After {@code failureThreshold}
+ * consecutive transient failures the breaker opens, and calls fail right away
+ * instead of piling up behind the rate limiter. Once {@code openDuration} has
+ * elapsed, calls go through again: the first success closes the breaker, and
+ * the next failure opens it for another period.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String description;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoTime;
+
+    private int consecutiveFailures;
+    private long openUntilNanos;
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * @param description the upstream, used in error messages, such as "arXiv API"
+     * @param failureThreshold consecutive failures opening the breaker, or 0 to never open it
+     */
+    public CircuitBreaker(String description, int failureThreshold, Duration openDuration) {
+        this(description, failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(String description, int failureThreshold, Duration openDuration, LongSupplier nanoTime) {
+        this.description = description;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Fails if the breaker is open, and returns otherwise.
+     */
+    public synchronized void acquirePermission() {
+        if (state() == State.OPEN) {
+            rejected.incrementAndGet();
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(openUntilNanos - nanoTime.getAsLong() + 999_999_999));
+            throw new RuntimeException(description + " is unavailable after repeated failures, try again in " + seconds + " s");
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onFailure() {
+        if (failureThreshold > 0 && ++consecutiveFailures >= failureThreshold) {
+            if (state() != State.OPEN) {
+                opened.incrementAndGet();
+            }
+            openUntilNanos = nanoTime.getAsLong() + openNanos;
+        }
+    }
+
+    public synchronized State state() {
+        if (failureThreshold <= 0 || consecutiveFailures < failureThreshold) {
+            return State.CLOSED;
+        }
+        return nanoTime.getAsLong() - openUntilNanos < 0 ? State.OPEN : State.HALF_OPEN;
+    }
+
+    public boolean isOpen() {
+        return state() == State.OPEN;
+    }
+
+    public long openedCount() {
+        return opened.get();
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Author;
+import io.github.glaforge.mcp.arxiv.model.Category;
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Link;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes an {@link Entry} into a single byte array, so that the {@link PaperCache}
+ * holds one small object per paper instead of a graph of strings and lists.
+ * <p>
+ * Values repeated across papers, such as category terms, link types and the
+ * scheme and host part of URLs, are interned into a vocabulary shared by all
+ * entries and written as small integer codes. Other strings are written as
+ * UTF-8, and the summary is optionally deflated. Entries are decoded back each
+ * time they are read from the cache.
+ */
+class CompactEntryCodec {
+
+    // Bounds the vocabulary in case a field turns out not to be repetitive after all
+    private static final int MAX_WORDS = 4096;
+
+    private static final int SUMMARY_COMPRESSED = 1;
+    // Summaries shorter than this rarely shrink once deflated
+    private static final int MIN_COMPRESSED_SUMMARY = 128;
+
+    private final boolean compressSummaries;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final List<String> words = new CopyOnWriteArrayList<>();
+
+    CompactEntryCodec(boolean compressSummaries) {
+        this.compressSummaries = compressSummaries;
+    }
+
+    int vocabularySize() {
+        return words.size();
+    }
+
+    byte[] encode(Entry entry) {
+        Output out = new Output();
+        byte[] summary = entry.summary == null ? null : entry.summary.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = compressSummaries && summary != null && summary.length >= MIN_COMPRESSED_SUMMARY
+            ? deflate(summary) : null;
+        boolean useCompressed = compressed != null && compressed.length < summary.length;
+        out.write(useCompressed ? SUMMARY_COMPRESSED : 0);
+
+        writeUrl(out, entry.id);
+        out.writeString(entry.updated);
+        out.writeString(entry.published);
+        out.writeString(entry.title);
+        out.writeString(entry.comment);
+        out.writeString(entry.journalRef);
+        out.writeString(entry.doi);
+        out.writeCount(entry.authors);
+        if (entry.authors != null) {
+            for (Author author : entry.authors) {
+                out.writeString(author.name);
+                out.writeString(author.affiliation);
+            }
+        }
+        out.writeCount(entry.links);
+        if (entry.links != null) {
+            for (Link link : entry.links) {
+                writeUrl(out, link.href);
+                writeWord(out, link.rel);
+                writeWord(out, link.title);
+                writeWord(out, link.type);
+            }
+        }
+        out.writeCount(entry.categories);
+        if (entry.categories != null) {
+            for (Category category : entry.categories) {
+                writeCategory(out, category);
+            }
+        }
+        out.write(entry.primaryCategory == null ? 0 : 1);
+        if (entry.primaryCategory != null) {
+            writeCategory(out, entry.primaryCategory);
+        }
+
+        // The summary comes last and runs to the end of the array
+        if (useCompressed) {
+            out.writeVarInt(summary.length);
+            out.write(compressed, 0, compressed.length);
+        } else {
+            out.writeString(entry.summary);
+        }
+        return out.toByteArray();
+    }
+
+    Entry decode(byte[] data) {
+        Input in = new Input(data);
+        boolean compressed = (in.read() & SUMMARY_COMPRESSED) != 0;
+        Entry entry = new Entry();
+        entry.id = readUrl(in);
+        entry.updated = in.readString();
+        entry.published = in.readString();
+        entry.title = in.readString();
+        entry.comment = in.readString();
+        entry.journalRef = in.readString();
+        entry.doi = in.readString();
+        int authors = in.readVarInt() - 1;
+        if (authors >= 0) {
+            entry.authors = new ArrayList<>(authors);
+            for (int i = 0; i < authors; i++) {
+                Author author = new Author();
+                author.name = in.readString();
+                author.affiliation = in.readString();
+                entry.authors.add(author);
+            }
+        }
+        int links = in.readVarInt() - 1;
+        if (links >= 0) {
+            entry.links = new ArrayList<>(links);
+            for (int i = 0; i < links; i++) {
+                Link link = new Link();
+                link.href = readUrl(in);
+                link.rel = readWord(in);
+                link.title = readWord(in);
+                link.type = readWord(in);
+                entry.links.add(link);
+            }
+        }
+        int categories = in.readVarInt() - 1;
+        if (categories >= 0) {
+            entry.categories = new ArrayList<>(categories);
+            for (int i = 0; i < categories; i++) {
+                entry.categories.add(readCategory(in));
+            }
+        }
+        if (in.read() != 0) {
+            entry.primaryCategory = readCategory(in);
+        }
+
+        if (compressed) {
+            byte[] summary = new byte[in.readVarInt()];
+            inflate(data, in.position, summary);
+            entry.summary = new String(summary, StandardCharsets.UTF_8);
+        } else {
+            entry.summary = in.readString();
+        }
+        return entry;
+    }
+
+    private void writeCategory(Output out, Category category) {
+        writeWord(out, category.term);
+        writeWord(out, category.scheme);
+    }
+
+    private Category readCategory(Input in) {
+        Category category = new Category();
+        category.term = readWord(in);
+        category.scheme = readWord(in);
+        return category;
+    }
+
+    /**
+     * URLs are split after their last slash, and the first part is interned:
+     * {@code http://arxiv.org/abs/} is then shared by the IDs of all papers.
+     */
+    private void writeUrl(Output out, String url) {
+        int slash = url == null ? -1 : url.lastIndexOf('/');
+        writeWord(out, slash < 0 ? null : url.substring(0, slash + 1));
+        out.writeString(slash < 0 ? url : url.substring(slash + 1));
+    }
+
+    private String readUrl(Input in) {
+        String prefix = readWord(in);
+        String rest = in.readString();
+        return prefix == null || rest == null ? rest : prefix + rest;
+    }
+
+    // 0 stands for null, 1 for a word written inline, and 2 and above for words of the vocabulary
+    private void writeWord(Output out, String word) {
+        if (word == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        int code = code(word);
+        if (code < 0) {
+            out.writeVarInt(1);
+            out.writeString(word);
+        } else {
+            out.writeVarInt(code + 2);
+        }
+    }
+
+    private String readWord(Input in) {
+        int code = in.readVarInt();
+        return switch (code) {
+            case 0 -> null;
+            case 1 -> in.readString();
+            default -> words.get(code - 2);
+        };
+    }
+
+    private int code(String word) {
+        Integer code = codes.get(word);
+        if (code != null) {
+            return code;
+        }
+        synchronized (words) {
+            code = codes.get(word);
+            if (code != null) {
+                return code;
+            }
+            if (words.size() >= MAX_WORDS) {
+                return -1;
+            }
+            // The word must be readable before its code can be written into any entry
+            words.add(word);
+            codes.put(word, words.size() - 1);
+            return words.size() - 1;
+        }
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+            byte[] chunk = new byte[1024];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(chunk);
+                out.write(chunk, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void inflate(byte[] data, int offset, byte[] target) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, data.length - offset);
+            int length = 0;
+            while (length < target.length && !inflater.finished()) {
+                int inflated = inflater.inflate(target, length, target.length - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != target.length) {
+                throw new IllegalStateException("Truncated compressed summary");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted compressed summary", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static class Output extends ByteArrayOutputStream {
+
+        Output() {
+            super(512);
+        }
+
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        // Lengths are shifted by one, so that 0 stands for null
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeCount(List<?> list) {
+            writeVarInt(list == null ? 0 : list.size() + 1);
+        }
+    }
+
+    private static class Input {
+        private final byte[] data;
+        private int position;
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        int read() {
+            return data[position++] & 0xFF;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = read();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.smallrye.mutiny.Uni;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of calls in progress to one upstream. Handlers run on
+ * virtual threads, so nothing else bounds how many of them block on the same
+ * server at once; callers over the cap wait, in arrival order, up to a timeout.
+ * <p>
+ * Blocked threads and reactive callers, which wait without a thread, share a
+ * single queue, so neither kind can starve the other.
+ */
+public class ConcurrencyLimit {
+
+    private final String description;
+    private final int maxConcurrent;
+    private final Duration timeout;
+    private final Semaphore permits;
+    private final Queue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param description what is limited, used in error messages, such as "PDF downloads"
+     */
+    public ConcurrencyLimit(String description, int maxConcurrent, Duration timeout) {
+        this.description = description;
+        this.maxConcurrent = maxConcurrent;
+        this.timeout = timeout;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Waits for a free slot, failing if none frees up within the timeout.
+     * Every successful call must be followed by {@link #release()}.
+     */
+    public void acquire(String id) {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        CompletableFuture<Void> waiter = enqueue();
+        try {
+            waiter.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (giveUp(waiter)) {
+                throw new RuntimeException("Too many concurrent " + description + ", try again later: " + id);
+            }
+        } catch (InterruptedException e) {
+            if (!giveUp(waiter)) {
+                release();
+            }
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for " + description + ": " + id, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #acquire(String)}: the returned {@link Uni}
+     * completes once a slot is held, or fails after the timeout.
+     */
+    public Uni<Void> acquireAsync(String id) {
+        return Uni.createFrom().deferred(() -> {
+            if (permits.tryAcquire()) {
+                return Uni.createFrom().voidItem();
+            }
+            CompletableFuture<Void> waiter = enqueue();
+            waiter.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return Uni.createFrom().completionStage(waiter)
+                .onFailure().invoke(() -> waiters.remove(waiter))
+                .onFailure(TimeoutException.class).transform(e ->
+                    new RuntimeException("Too many concurrent " + description + ", try again later: " + id))
+                .onCancellation().invoke(() -> {
+                    waiters.remove(waiter);
+                    // Give back a slot handed over after the caller gave up
+                    if (!waiter.cancel(false) && !waiter.isCompletedExceptionally()) {
+                        release();
+                    }
+                });
+        });
+    }
+
+    /**
+     * Runs the call once a slot is held, and frees the slot when the call
+     * terminates, whether it succeeds, fails or is cancelled.
+     */
+    public <T> Uni<T> runAsync(String id, Supplier<Uni<T>> call) {
+        return acquireAsync(id).chain(() -> {
+            // Cancelling a call that already terminated terminates it a second time
+            AtomicBoolean released = new AtomicBoolean();
+            return call.get().eventually(() -> {
+                if (released.compareAndSet(false, true)) {
+                    release();
+                }
+            });
+        });
+    }
+
+    private CompletableFuture<Void> enqueue() {
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        // A slot may have been released between the first attempt and joining the queue
+        if (permits.tryAcquire() && !waiter.complete(null)) {
+            permits.release();
+        }
+        return waiter;
+    }
+
+    /**
+     * Leaves the queue, returning false if a slot was handed over in the meantime.
+     */
+    private boolean giveUp(CompletableFuture<Void> waiter) {
+        waiters.remove(waiter);
+        return waiter.cancel(false);
+    }
+
+    /**
+     * Frees a slot, handing it to the oldest waiter if there is one.
+     */
+    public void release() {
+        CompletableFuture<Void> waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (waiter.complete(null)) {
+                return;
+            }
+        }
+        permits.release();
+    }
+
+    public int inProgress() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int waiting() {
+        return waiters.size();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Trims the entries of a response down to the fields a client asked for, and
+ * optionally shortens their abstracts.
+ * <p>
+ * Feeds and entries may be shared with the cache and with concurrent callers,
+ * so projections always work on copies.
+ */
+public record EntryProjection(Set<String> fields, int summaryMaxChars) {
+
+    public static final List<String> FIELDS = List.of(
+        "id", "title", "summary", "authors", "published", "updated", "links",
+        "categories", "primaryCategory", "comment", "journalRef", "doi");
+
+    public static final EntryProjection ALL = new EntryProjection(Set.copyOf(FIELDS), 0);
+
+    /**
+     * Builds a projection from tool arguments. A null or empty field list keeps
+     * every field, and a {@code summaryMaxChars} of 0 or less keeps whole abstracts.
+     */
+    public static EntryProjection of(List<String> fields, int summaryMaxChars) {
+        if (fields == null || fields.isEmpty()) {
+            return new EntryProjection(ALL.fields, Math.max(0, summaryMaxChars));
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields) {
+            String match = FIELDS.stream()
+                .filter(name -> name.equalsIgnoreCase(field.trim()))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Unknown field: " + field + ". Valid fields are " + FIELDS));
+            selected.add(match);
+        }
+        // The ID is needed to refer to a paper in any follow-up call
+        selected.add("id");
+        return new EntryProjection(Set.copyOf(selected), Math.max(0, summaryMaxChars));
+    }
+
+    public boolean isIdentity() {
+        return fields.size() == FIELDS.size() && summaryMaxChars == 0;
+    }
+
+    public Feed apply(Feed feed) {
+        if (isIdentity() || feed == null) {
+            return feed;
+        }
+        Feed projected = new Feed();
+        projected.title = feed.title;
+        projected.id = feed.id;
+        projected.updated = feed.updated;
+        projected.totalResults = feed.totalResults;
+        projected.startIndex = feed.startIndex;
+        projected.itemsPerPage = feed.itemsPerPage;
+        projected.nextPageToken = feed.nextPageToken;
+        projected.sinceToken = feed.sinceToken;
+        projected.unavailableIds = feed.unavailableIds;
+        // Feed-level links only describe the API query itself
+        if (fields.size() == FIELDS.size()) {
+            projected.links = feed.links;
+        }
+        if (feed.entries != null) {
+            List<Entry> entries = new ArrayList<>(feed.entries.size());
+            for (Entry entry : feed.entries) {
+                entries.add(apply(entry));
+            }
+            projected.entries = entries;
+        }
+        return projected;
+    }
+
+    public Entry apply(Entry entry) {
+        if (isIdentity() || entry == null) {
+            return entry;
+        }
+        Entry projected = new Entry();
+        projected.id = entry.id;
+        if (fields.contains("title")) {
+            projected.title = entry.title;
+        }
+        if (fields.contains("summary")) {
+            projected.summary = truncate(entry.summary);
+        }
+        if (fields.contains("authors")) {
+            projected.authors = entry.authors;
+        }
+        if (fields.contains("published")) {
+            projected.published = entry.published;
+        }
+        if (fields.contains("updated")) {
+            projected.updated = entry.updated;
+        }
+        if (fields.contains("links")) {
+            projected.links = entry.links;
+        }
+        if (fields.contains("categories")) {
+            projected.categories = entry.categories;
+        }
+        if (fields.contains("primaryCategory")) {
+            projected.primaryCategory = entry.primaryCategory;
+        }
+        if (fields.contains("comment")) {
+            projected.comment = entry.comment;
+        }
+        if (fields.contains("journalRef")) {
+            projected.journalRef = entry.journalRef;
+        }
+        if (fields.contains("doi")) {
+            projected.doi = entry.doi;
+        }
+        return projected;
+    }
+
+    /**
+     * Shortens the abstract to at most {@code summaryMaxChars} characters, cutting
+     * at a word boundary when possible and marking the cut with an ellipsis.
+     */
+    String truncate(String summary) {
+        if (summary == null || summaryMaxChars == 0) {
+            return summary;
+        }
+        // Collapse whitespace in a single pass, stopping as soon as the limit is exceeded
+        StringBuilder text = new StringBuilder(Math.min(summary.length(), summaryMaxChars + 1));
+        boolean pendingSpace = false;
+        for (int i = 0; i < summary.length() && text.length() <= summaryMaxChars; i++) {
+            char c = summary.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = text.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    text.append(' ');
+                    pendingSpace = false;
+                }
+                text.append(c);
+            }
+        }
+        if (text.length() <= summaryMaxChars) {
+            return text.toString();
+        }
+        int cut = text.lastIndexOf(" ", summaryMaxChars - 1);
+        if (cut < summaryMaxChars / 2) {
+            cut = summaryMaxChars - 1;
+        }
+        return text.substring(0, cut).stripTrailing() + "…";
+    }
+}
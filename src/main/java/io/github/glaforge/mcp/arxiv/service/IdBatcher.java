@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Groups single-ID lookups arriving within a short window into one
+ * {@code id_list} query, and hands each caller its own entry back.
+ * <p>
+ * The first caller of a batch becomes its leader: it waits for the window to
+ * elapse, or for the batch to fill up, then runs the query on its own thread
+ * while the other callers wait for their result.
+ */
+public class IdBatcher {
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Function<List<String>, Feed> fetcher;
+
+    private Batch current;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+
+    public IdBatcher(Duration window, int maxBatchSize, Function<List<String>, Feed> fetcher) {
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * Returns the entry for the given ID, or null if arXiv does not know it.
+     */
+    public Entry lookup(String id) {
+        String key = ArxivIds.normalize(id);
+        Batch batch;
+        CompletableFuture<Entry> future;
+        boolean leader = false;
+        synchronized (this) {
+            if (current == null) {
+                current = new Batch();
+                leader = true;
+            }
+            batch = current;
+            future = batch.requests.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (batch.requests.size() >= maxBatchSize) {
+                current = null;
+                batch.full.countDown();
+            }
+        }
+        lookups.incrementAndGet();
+
+        if (leader) {
+            try {
+                batch.full.await(windowNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                if (current == batch) {
+                    current = null;
+                }
+            }
+            flush(batch);
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public long batchCount() {
+        return batches.get();
+    }
+
+    public long lookupCount() {
+        return lookups.get();
+    }
+
+    private void flush(Batch batch) {
+        batches.incrementAndGet();
+        List<String> ids = new ArrayList<>(batch.requests.keySet());
+        if (ids.size() > 1) {
+            // One malformed ID makes arXiv reject the whole list, and arXiv knows no paper by that ID anyway
+            ids.removeIf(id -> {
+                if (ArxivIds.isWellFormed(id)) {
+                    return false;
+                }
+                batch.requests.get(id).complete(null);
+                return true;
+            });
+        }
+        resolve(batch, ids);
+    }
+
+    /**
+     * Queries the given IDs of the batch. If arXiv still rejects the list, each
+     * half is queried again, until the IDs it rejects are isolated and resolved
+     * to null.
+     */
+    private void resolve(Batch batch, List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Feed feed;
+        try {
+            feed = fetcher.apply(ids);
+        } catch (RuntimeException e) {
+            ids.forEach(id -> batch.requests.get(id).completeExceptionally(e));
+            return;
+        }
+
+        List<Entry> entries = feed.entries == null ? List.of() : feed.entries;
+        boolean hasErrors = false;
+        for (Entry entry : entries) {
+            String versionedId = ArxivIds.fromEntry(entry);
+            if (versionedId == null) {
+                hasErrors = true;
+                continue;
+            }
+            complete(batch, versionedId, entry);
+            complete(batch, ArxivIds.unversioned(versionedId), entry);
+        }
+
+        List<String> pending = ids.stream().filter(id -> !batch.requests.get(id).isDone()).toList();
+        if (hasErrors && ids.size() > 1) {
+            resolve(batch, pending.subList(0, pending.size() / 2));
+            resolve(batch, pending.subList(pending.size() / 2, pending.size()));
+        } else {
+            // An ID arXiv rejects on its own (e.g. malformed) names no paper: its error entry is never an answer
+            pending.forEach(id -> batch.requests.get(id).complete(null));
+        }
+    }
+
+    private static void complete(Batch batch, String id, Entry entry) {
+        CompletableFuture<Entry> future = batch.requests.get(id);
+        if (future != null) {
+            future.complete(entry);
+        }
+    }
+
+    private static class Batch {
+        final Map<String, CompletableFuture<Entry>> requests = new LinkedHashMap<>();
+        final CountDownLatch full = new CountDownLatch(1);
+    }
+}
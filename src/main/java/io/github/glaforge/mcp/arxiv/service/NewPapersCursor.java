@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Where a caller stands in the papers of a query: the submission date of the
+ * newest paper it was given, and the IDs of those submitted at that exact date.
+ * Callers hold their own cursor, as an opaque token, so they never take each
+ * other's new papers.
+ */
+public record NewPapersCursor(String query, Instant published, List<String> ids) {
+
+    /**
+     * Encodes this cursor as an opaque token.
+     */
+    public String toToken() {
+        String value = String.join("\n", query, published.toString(), String.join(",", ids));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #toToken()}.
+     */
+    public static NewPapersCursor fromToken(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8).split("\n", -1);
+            if (parts.length != 3 || parts[0].isBlank()) {
+                throw new IllegalArgumentException();
+            }
+            return new NewPapersCursor(parts[0], Instant.parse(parts[1]),
+                parts[2].isEmpty() ? List.of() : List.of(parts[2].split(",")));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new RuntimeException("Invalid since token: " + token);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The rest of a poll cut short by its maximum number of results: the papers of
+ * the query from result {@code start} on, down to the {@code since} cursor it was
+ * polled with, if any, and the cursor that poll handed out, to hand out again.
+ * Papers submitted meanwhile shift the results, so the rest may repeat some of
+ * the papers already returned, but never skips any.
+ */
+public record NewPapersPage(String query, NewPapersCursor since, NewPapersCursor next, int start) {
+
+    /**
+     * Encodes this page as an opaque token.
+     */
+    public String toToken() {
+        String value = String.join("\n", query, Integer.toString(start), since == null ? "" : since.toToken(),
+            next == null ? "" : next.toToken());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #toToken()}.
+     */
+    public static NewPapersPage fromToken(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8).split("\n", -1);
+            int start = parts.length == 4 ? Integer.parseInt(parts[1]) : -1;
+            if (start < 0 || parts[0].isBlank()) {
+                throw new IllegalArgumentException();
+            }
+            return new NewPapersPage(parts[0], parts[2].isEmpty() ? null : NewPapersCursor.fromToken(parts[2]),
+                parts[3].isEmpty() ? null : NewPapersCursor.fromToken(parts[3]), start);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid page token: " + token);
+        }
+    }
+}
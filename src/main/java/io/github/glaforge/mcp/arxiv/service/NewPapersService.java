@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.regex.Pattern;
+
+/**
+ * Serves the papers submitted to a category or query after a caller's cursor,
+ * fetching only the results newer than the last ones it was given.
+ */
+@ApplicationScoped
+public class NewPapersService {
+
+    // A category code, as listed by arxiv://taxonomy: an archive without subcategories, e.g. quant-ph, or a
+    // subcategory, e.g. cs.LG. Archives with subcategories, e.g. cs or math, are no category of their own,
+    // and are left as keywords.
+    private static final Pattern CATEGORY = Pattern.compile(
+        "gr-qc|hep-ex|hep-lat|hep-ph|hep-th|math-ph|nucl-ex|nucl-th|quant-ph"
+            + "|(astro-ph|cond-mat|nlin|physics|math|cs|q-bio|q-fin|stat|eess|econ)\\.[A-Za-z-]+");
+
+    @Inject
+    ArxivService arxivService;
+
+    @ConfigProperty(name = "arxiv.watch.page-size", defaultValue = "10")
+    int pageSize;
+
+    private NewPapersWatcher watcher;
+
+    @PostConstruct
+    void init() {
+        watcher = new NewPapersWatcher(arxivService::search, pageSize);
+    }
+
+    /**
+     * Returns the papers submitted after the cursor of the given token, or the
+     * newest papers of the query if there is no token, or the rest of the papers
+     * of a previous response given its page token. Tokens hold their query.
+     */
+    public Feed newPapers(String query, String sinceToken, String pageToken, int maxResults) {
+        if (pageToken != null && !pageToken.isBlank()) {
+            return watcher.next(NewPapersPage.fromToken(pageToken), maxResults);
+        }
+        if (sinceToken != null && !sinceToken.isBlank()) {
+            NewPapersCursor since = NewPapersCursor.fromToken(sinceToken);
+            return watcher.poll(since.query(), since, maxResults);
+        }
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("A category or query is required");
+        }
+        return watcher.poll(query(query), null, maxResults);
+    }
+
+    /**
+     * Turns a bare category code such as {@code cs.LG} or {@code quant-ph} into an
+     * arXiv query. Anything else, including archive names like {@code math}, is
+     * taken as a query as it is.
+     */
+    static String query(String query) {
+        String normalized = query.strip();
+        return CATEGORY.matcher(normalized).matches() ? "cat:" + normalized : normalized;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Returns the papers of a query submitted after a {@link NewPapersCursor}.
+ * <p>
+ * A poll pages through the results newest first, with pages growing from a
+ * small first one, and stops at the first paper older than the cursor, so that
+ * polling a quiet query costs a single small request. The response carries the
+ * cursor to pass to the next poll, and a page token when it was cut short by its
+ * maximum number of results.
+ */
+public class NewPapersWatcher {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final Function<SearchKey, Feed> source;
+    private final int pageSize;
+
+    /**
+     * @param source runs a search, e.g. {@link ArxivService#search(SearchKey)}
+     * @param pageSize size of the first page fetched by a poll, doubled for each following page
+     */
+    public NewPapersWatcher(Function<SearchKey, Feed> source, int pageSize) {
+        this.source = source;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * Returns up to {@code maxResults} papers of the query submitted after the
+     * cursor, newest first, with the cursor that follows them in
+     * {@link Feed#sinceToken}. Without a cursor, returns the newest papers. When
+     * more papers are left, the feed has a {@code nextPageToken} for
+     * {@link #next(NewPapersPage, int)} to get the rest, down to the same cursor.
+     */
+    public Feed poll(String query, NewPapersCursor since, int maxResults) {
+        // Without a cursor, the newest papers are all that's wanted
+        int size = since == null ? Math.min(maxResults, MAX_PAGE_SIZE) : Math.min(pageSize, maxResults);
+        List<Entry> fresh = new ArrayList<>();
+        int rest = collect(query, since, 0, size, maxResults, fresh);
+        return feed(query, since, advance(query, since, fresh), fresh, rest);
+    }
+
+    /**
+     * Returns up to {@code maxResults} more papers of a poll cut short, with the
+     * same {@link Feed#sinceToken} as the poll.
+     */
+    public Feed next(NewPapersPage page, int maxResults) {
+        List<Entry> fresh = new ArrayList<>();
+        int rest = collect(page.query(), page.since(), page.start(), Math.min(maxResults, MAX_PAGE_SIZE), maxResults, fresh);
+        return feed(page.query(), page.since(), page.next(), fresh, rest);
+    }
+
+    /**
+     * Pages through the results of the query from {@code start}, adding to
+     * {@code fresh} those submitted after the cursor, and returns where the rest
+     * starts if {@code maxResults} papers were collected before reaching the
+     * cursor or the end of the results, or -1.
+     */
+    private int collect(String query, NewPapersCursor since, int start, int size, int maxResults, List<Entry> fresh) {
+        Set<String> ids = new HashSet<>();
+        Set<String> seen = since == null ? Set.of() : new HashSet<>(since.ids());
+        while (true) {
+            Feed page = source.apply(SearchKey.of(query, null, start, size, "submittedDate", "descending"));
+            List<Entry> entries = page.entries == null ? List.of() : page.entries;
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                String id = ArxivIds.fromEntry(entry);
+                // New papers shift the results while paging, so a page may repeat some of the previous one
+                if (id == null || ids.contains(id)) {
+                    continue;
+                }
+                Instant published = parse(entry.published);
+                if (since != null && published != null) {
+                    int order = published.compareTo(since.published());
+                    if (order < 0) {
+                        return -1;
+                    }
+                    if (order == 0 && seen.contains(id)) {
+                        continue;
+                    }
+                }
+                if (fresh.size() == maxResults) {
+                    return start + i;
+                }
+                ids.add(id);
+                fresh.add(entry);
+            }
+            if (entries.size() < size) {
+                return -1;
+            }
+            start += entries.size();
+            if (fresh.size() == maxResults) {
+                // Whether any paper is left is found out by the next page, not by another request now
+                return start;
+            }
+            size = since == null ? Math.min(maxResults - fresh.size(), MAX_PAGE_SIZE) : Math.min(size * 2, MAX_PAGE_SIZE);
+        }
+    }
+
+    private static Feed feed(String query, NewPapersCursor since, NewPapersCursor next, List<Entry> fresh, int rest) {
+        Feed feed = new Feed();
+        feed.title = "New papers for " + query;
+        feed.updated = next == null ? null : next.published().toString();
+        feed.totalResults = fresh.size();
+        feed.nextPageToken = rest < 0 ? null : new NewPapersPage(query, since, next, rest).toToken();
+        feed.sinceToken = next == null ? null : next.toToken();
+        feed.entries = fresh;
+        return feed;
+    }
+
+    private static NewPapersCursor advance(String query, NewPapersCursor since, List<Entry> fresh) {
+        Instant newest = since == null ? null : since.published();
+        for (Entry entry : fresh) {
+            Instant published = parse(entry.published);
+            if (published != null && (newest == null || published.isAfter(newest))) {
+                newest = published;
+            }
+        }
+        if (newest == null) {
+            return null;
+        }
+        Set<String> ids = new LinkedHashSet<>();
+        if (since != null && newest.equals(since.published())) {
+            ids.addAll(since.ids());
+        }
+        for (Entry entry : fresh) {
+            if (newest.equals(parse(entry.published))) {
+                ids.add(ArxivIds.fromEntry(entry));
+            }
+        }
+        return new NewPapersCursor(query, newest, List.copyOf(ids));
+    }
+
+    private static Instant parse(String date) {
+        if (date == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(date.strip()).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Author;
+import io.github.glaforge.mcp.arxiv.model.Category;
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Link;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process cache of parsed {@link Entry} objects, keyed by arXiv ID.
+ * <p>
+ * Entries are always stored under their versioned ID (e.g. {@code 2601.05230v1}).
+ * They are additionally stored under the unversioned ID when they are known to be
+ * the latest version, i.e. when they come from a search or an unversioned lookup.
+ * Eviction is size-based (W-TinyLFU) and bounded either by number of entries or,
+ * when {@code arxiv.cache.max-bytes} is set, by estimated heap footprint.
+ * With {@code arxiv.cache.compact}, entries are held as byte arrays encoded by
+ * {@link CompactEntryCodec}, and each lookup returns a newly decoded copy.
+ * <p>
+ * Entries older than {@code arxiv.cache.ttl} are stale: they are still returned by
+ * {@link #lookup(String)} for another {@code arxiv.cache.stale-ttl}, so callers can
+ * serve them while refreshing. IDs that arXiv does not know are remembered for
+ * {@code arxiv.cache.negative-ttl}.
+ * <p>
+ * The cache can be saved to a {@link PaperCacheSnapshot} and later started from
+ * one: entries missing from memory are then taken from the snapshot, with the
+ * age they had when it was saved.
+ */
+@ApplicationScoped
+public class PaperCache {
+
+    /**
+     * A cached entry, and whether it is older than the freshness TTL.
+     */
+    public record Hit(Entry entry, boolean stale) {
+    }
+
+    // Holds either the entry itself or its compact encoding
+    private record Cached(Entry entry, byte[] compact, long writtenAt) {
+    }
+
+    private final Cache<String, Cached> cache;
+    private final Cache<String, Boolean> missing;
+    private final Ticker ticker;
+    private final long ttlNanos;
+    private final long expiryNanos;
+    private final CompactEntryCodec codec;
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong snapshotHits = new AtomicLong();
+    private volatile PaperCacheSnapshot snapshot;
+    private volatile boolean dirty;
+
+    @Inject
+    public PaperCache(
+        @ConfigProperty(name = "arxiv.cache.max-entries", defaultValue = "10000") long maxEntries,
+        @ConfigProperty(name = "arxiv.cache.max-bytes", defaultValue = "0") long maxBytes,
+        @ConfigProperty(name = "arxiv.cache.ttl", defaultValue = "PT6H") Duration ttl,
+        @ConfigProperty(name = "arxiv.cache.stale-ttl", defaultValue = "P1D") Duration staleTtl,
+        @ConfigProperty(name = "arxiv.cache.negative-ttl", defaultValue = "PT10M") Duration negativeTtl,
+        @ConfigProperty(name = "arxiv.cache.compact", defaultValue = "true") boolean compact,
+        @ConfigProperty(name = "arxiv.cache.compress-summaries", defaultValue = "false") boolean compressSummaries) {
+        this(maxEntries, maxBytes, ttl, staleTtl, negativeTtl,
+            compact ? new CompactEntryCodec(compressSummaries) : null, Ticker.systemTicker());
+    }
+
+    PaperCache(long maxEntries, long maxBytes, Duration ttl, Ticker ticker) {
+        this(maxEntries, maxBytes, ttl, Duration.ZERO, Duration.ZERO, ticker);
+    }
+
+    PaperCache(long maxEntries, long maxBytes, Duration ttl, Duration staleTtl, Duration negativeTtl, Ticker ticker) {
+        this(maxEntries, maxBytes, ttl, staleTtl, negativeTtl, null, ticker);
+    }
+
+    PaperCache(long maxEntries, long maxBytes, Duration ttl, Duration staleTtl, Duration negativeTtl,
+               CompactEntryCodec codec, Ticker ticker) {
+        this.codec = codec;
+        this.ticker = ticker;
+        this.ttlNanos = ttl.toNanos();
+        this.expiryNanos = ttl.plus(staleTtl).toNanos();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .expireAfterWrite(ttl.plus(staleTtl))
+            .ticker(ticker)
+            .recordStats();
+        if (maxBytes > 0) {
+            builder.maximumWeight(maxBytes)
+                .weigher((String key, Cached cached) -> cached.compact() != null
+                    ? 64 + cached.compact().length : estimateSize(cached.entry()));
+        } else {
+            builder.maximumSize(maxEntries);
+        }
+        this.cache = builder.build();
+        this.missing = Caffeine.newBuilder()
+            .expireAfterWrite(negativeTtl)
+            .maximumSize(Math.max(1, maxEntries))
+            .ticker(ticker)
+            .build();
+    }
+
+    /**
+     * Returns the entry if it is cached and still fresh, or null.
+     */
+    public Entry get(String id) {
+        Hit hit = find(id);
+        return hit == null || hit.stale() ? null : hit.entry();
+    }
+
+    /**
+     * Returns the cached entry, fresh or stale, or null if there is none.
+     */
+    public Hit lookup(String id) {
+        Hit hit = find(id);
+        if (hit != null && hit.stale()) {
+            staleHits.incrementAndGet();
+        }
+        return hit;
+    }
+
+    private Hit find(String id) {
+        String key = ArxivIds.normalize(id);
+        Cached cached = key == null ? null : cache.getIfPresent(key);
+        if (cached == null && key != null) {
+            cached = takeFromSnapshot(key);
+        }
+        if (cached == null) {
+            return null;
+        }
+        long age = ticker.read() - cached.writtenAt();
+        // Entries taken from a snapshot are older than the cache thinks
+        if (age >= expiryNanos) {
+            return null;
+        }
+        return new Hit(entryOf(cached), age >= ttlNanos);
+    }
+
+    private Cached takeFromSnapshot(String key) {
+        PaperCacheSnapshot current = snapshot;
+        PaperCacheSnapshot.Stored stored = current == null ? null : current.take(key);
+        if (stored == null) {
+            return null;
+        }
+        long age = TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - stored.writtenAt()));
+        if (age >= expiryNanos) {
+            return null;
+        }
+        Entry entry;
+        try {
+            entry = stored.entry();
+        } catch (RuntimeException e) {
+            // Bytes the slot table cannot vouch for: fetch the paper again instead
+            return null;
+        }
+        Cached cached = cached(entry, ticker.read() - age);
+        Cached previous = cache.asMap().putIfAbsent(key, cached);
+        if (previous != null) {
+            return previous;
+        }
+        snapshotHits.incrementAndGet();
+        return cached;
+    }
+
+    /**
+     * Remembers that arXiv has no paper with this ID.
+     */
+    public void markMissing(String id) {
+        String key = ArxivIds.normalize(id);
+        if (key != null && !key.isEmpty()) {
+            missing.put(key, Boolean.TRUE);
+        }
+    }
+
+    public boolean isMissing(String id) {
+        String key = ArxivIds.normalize(id);
+        return key != null && missing.getIfPresent(key) != null;
+    }
+
+    /**
+     * Caches an entry under its own versioned ID, and under its unversioned ID
+     * if {@code latest} is true.
+     */
+    public void put(Entry entry, boolean latest) {
+        String versionedId = ArxivIds.fromEntry(entry);
+        if (versionedId == null) {
+            return;
+        }
+        Cached cached = cached(entry, ticker.read());
+        PaperCacheSnapshot current = snapshot;
+        cache.put(versionedId, cached);
+        missing.invalidate(versionedId);
+        if (current != null) {
+            current.discard(versionedId);
+        }
+        if (latest) {
+            String unversionedId = ArxivIds.unversioned(versionedId);
+            cache.put(unversionedId, cached);
+            missing.invalidate(unversionedId);
+            if (current != null) {
+                current.discard(unversionedId);
+            }
+        }
+        dirty = true;
+    }
+
+    private Cached cached(Entry entry, long writtenAt) {
+        return codec == null ? new Cached(entry, null, writtenAt) : new Cached(null, codec.encode(entry), writtenAt);
+    }
+
+    private Entry entryOf(Cached cached) {
+        return cached.compact() == null ? cached.entry() : codec.decode(cached.compact());
+    }
+
+    public void invalidateAll() {
+        snapshot = null;
+        cache.invalidateAll();
+        missing.invalidateAll();
+    }
+
+    /**
+     * Serves entries missing from memory from this snapshot, until they are taken or replaced.
+     */
+    public void attach(PaperCacheSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Whether entries were cached since the last snapshot was saved.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Saves the cached entries, and those of the attached snapshot not taken yet,
+     * to a new snapshot file. Expired entries are left out.
+     */
+    public void saveSnapshot(Path file) throws IOException {
+        dirty = false;
+        long now = ticker.read();
+        long wallNow = System.currentTimeMillis();
+        long expiryMillis = TimeUnit.NANOSECONDS.toMillis(expiryNanos);
+        Map<String, PaperCacheSnapshot.Stored> entries = new HashMap<>();
+        PaperCacheSnapshot current = snapshot;
+        if (current != null) {
+            current.remaining().forEach((key, stored) -> {
+                if (wallNow - stored.writtenAt() < expiryMillis) {
+                    entries.put(key, stored);
+                }
+            });
+        }
+        // Versioned and unversioned keys of a paper share the same encoded entry
+        Map<Cached, PaperCacheSnapshot.Stored> encoded = new IdentityHashMap<>();
+        cache.asMap().forEach((key, cached) -> {
+            long age = now - cached.writtenAt();
+            if (age < expiryNanos) {
+                entries.put(key, encoded.computeIfAbsent(cached, c -> new PaperCacheSnapshot.Stored(
+                    wallNow - TimeUnit.NANOSECONDS.toMillis(age), PaperCacheSnapshot.encode(entryOf(c)))));
+            }
+        });
+        try {
+            PaperCacheSnapshot.write(file, entries);
+        } catch (IOException e) {
+            dirty = true;
+            throw e;
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * Number of lookups answered with a stale entry, also counted in {@link #hitCount()}.
+     */
+    public long staleHitCount() {
+        return staleHits.get();
+    }
+
+    /**
+     * Number of lookups answered from the attached snapshot, also counted in {@link #missCount()}.
+     */
+    public long snapshotHitCount() {
+        return snapshotHits.get();
+    }
+
+    public long missingSize() {
+        return missing.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    static int estimateSize(Entry entry) {
+        // Rough heap estimate: object headers plus two bytes per character
+        long size = 64;
+        size += sizeOf(entry.id) + sizeOf(entry.updated) + sizeOf(entry.published)
+            + sizeOf(entry.title) + sizeOf(entry.summary) + sizeOf(entry.comment)
+            + sizeOf(entry.journalRef) + sizeOf(entry.doi);
+        if (entry.authors != null) {
+            for (Author author : entry.authors) {
+                size += 24 + sizeOf(author.name) + sizeOf(author.affiliation);
+            }
+        }
+        if (entry.links != null) {
+            for (Link link : entry.links) {
+                size += 32 + sizeOf(link.href) + sizeOf(link.rel) + sizeOf(link.title) + sizeOf(link.type);
+            }
+        }
+        if (entry.categories != null) {
+            for (Category category : entry.categories) {
+                size += 24 + sizeOf(category.term) + sizeOf(category.scheme);
+            }
+        }
+        if (entry.primaryCategory != null) {
+            size += 24 + sizeOf(entry.primaryCategory.term) + sizeOf(entry.primaryCategory.scheme);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+}
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Author;
+import io.github.glaforge.mcp.arxiv.model.Category;
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Link;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of the {@link PaperCache}, memory-mapped when it is opened.
+ * <p>
+ * The file starts with a table of fixed-size slots sorted by key, so opening a
+ * snapshot only maps it and checks that table, and each key is found by binary
+ * search. Entries are
+ * decoded the first time they are taken, and each slot is served at most once:
+ * from then on the cache itself holds the entry. Keys sharing an entry, such as
+ * the versioned and unversioned IDs of a paper, share its encoded bytes.
+ */
+public class PaperCacheSnapshot {
+
+    private static final int MAGIC = 0x41524353; // "ARCS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    // Key position, data position, data length and write time
+    private static final int SLOT_SIZE = 4 + 4 + 4 + 8;
+
+    /**
+     * An encoded entry, and the wall-clock time in milliseconds it was fetched at.
+     */
+    public record Stored(long writtenAt, ByteBuffer data) {
+
+        public Entry entry() {
+            return decode(data.duplicate());
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final BitSet taken;
+
+    private PaperCacheSnapshot(ByteBuffer buffer, int count) {
+        this.buffer = buffer;
+        this.count = count;
+        this.taken = new BitSet(count);
+    }
+
+    /**
+     * Maps a snapshot written by {@link #write(Path, Map)}, without reading its
+     * entries. Slots pointing outside the file, or keys out of order, make it fail
+     * with an {@link IOException} rather than on a later lookup.
+     */
+    public static PaperCacheSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Cache snapshot is too large to be mapped: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported cache snapshot format: " + file);
+            }
+            int count = buffer.getInt(8);
+            if (count < 0 || HEADER_SIZE + (long) count * SLOT_SIZE > size) {
+                throw new IOException("Truncated cache snapshot: " + file);
+            }
+            PaperCacheSnapshot snapshot = new PaperCacheSnapshot(buffer, count);
+            if (!snapshot.isValid()) {
+                throw new IOException("Corrupt cache snapshot: " + file);
+            }
+            return snapshot;
+        }
+    }
+
+    private boolean isValid() {
+        int size = buffer.capacity();
+        int keysStart = HEADER_SIZE + count * SLOT_SIZE;
+        byte[] previous = null;
+        for (int slot = 0; slot < count; slot++) {
+            int base = HEADER_SIZE + slot * SLOT_SIZE;
+            int keyPosition = buffer.getInt(base);
+            int position = buffer.getInt(base + 4);
+            int length = buffer.getInt(base + 8);
+            if (keyPosition < keysStart || keyPosition > size - 2
+                || keyPosition + 2 + (buffer.getShort(keyPosition) & 0xFFFF) > size
+                || position < keysStart || length < 0 || position > size - length) {
+                return false;
+            }
+            byte[] key = new byte[buffer.getShort(keyPosition) & 0xFFFF];
+            buffer.get(keyPosition + 2, key);
+            if (previous != null && Arrays.compareUnsigned(previous, key) >= 0) {
+                return false;
+            }
+            previous = key;
+        }
+        return true;
+    }
+
+    /**
+     * Number of keys in the snapshot, taken or not.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the entry stored under this key and marks it as taken, or returns
+     * null if there is none or it was already taken.
+     */
+    public synchronized Stored take(String key) {
+        int slot = find(key);
+        if (slot < 0 || taken.get(slot)) {
+            return null;
+        }
+        taken.set(slot);
+        return stored(slot);
+    }
+
+    /**
+     * Marks the entry under this key as taken, when a newer one was cached instead.
+     */
+    public synchronized void discard(String key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            taken.set(slot);
+        }
+    }
+
+    /**
+     * Entries not taken yet, keyed by cache key. Keys sharing an entry share the same {@link Stored}.
+     */
+    public synchronized Map<String, Stored> remaining() {
+        Map<String, Stored> remaining = new LinkedHashMap<>();
+        Map<Integer, Stored> byPosition = new LinkedHashMap<>();
+        for (int slot = taken.nextClearBit(0); slot < count; slot = taken.nextClearBit(slot + 1)) {
+            int current = slot;
+            int position = buffer.getInt(HEADER_SIZE + slot * SLOT_SIZE + 4);
+            Stored stored = byPosition.computeIfAbsent(position, p -> stored(current));
+            remaining.put(key(slot), stored);
+        }
+        return remaining;
+    }
+
+    private Stored stored(int slot) {
+        int base = HEADER_SIZE + slot * SLOT_SIZE;
+        int position = buffer.getInt(base + 4);
+        int length = buffer.getInt(base + 8);
+        return new Stored(buffer.getLong(base + 12), buffer.slice(position, length));
+    }
+
+    private String key(int slot) {
+        int position = buffer.getInt(HEADER_SIZE + slot * SLOT_SIZE);
+        byte[] bytes = new byte[buffer.getShort(position) & 0xFFFF];
+        buffer.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int find(String key) {
+        byte[] target = key.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int position = buffer.getInt(HEADER_SIZE + mid * SLOT_SIZE);
+            int length = buffer.getShort(position) & 0xFFFF;
+            int comparison = compare(position + 2, length, target);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compare(int position, int length, byte[] target) {
+        int common = Math.min(length, target.length);
+        for (int i = 0; i < common; i++) {
+            int difference = (buffer.get(position + i) & 0xFF) - (target[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - target.length;
+    }
+
+    /**
+     * Writes entries to the given file, replacing it atomically. The file may
+     * still be mapped by an opened snapshot, which keeps reading the old content.
+     */
+    public static void write(Path file, Map<String, Stored> entries) throws IOException {
+        List<byte[]> keys = new ArrayList<>(entries.size());
+        List<Stored> values = new ArrayList<>(entries.size());
+        entries.entrySet().stream()
+            .map(entry -> Map.entry(entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue()))
+            .filter(entry -> entry.getKey().length <= 0xFFFF)
+            .sorted((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()))
+            .forEach(entry -> {
+                keys.add(entry.getKey());
+                values.add(entry.getValue());
+            });
+
+        int count = keys.size();
+        long keysStart = HEADER_SIZE + (long) count * SLOT_SIZE;
+        long dataStart = keysStart;
+        for (byte[] key : keys) {
+            dataStart += 2 + key.length;
+        }
+        // Shared entries are written once
+        Map<Stored, Integer> positions = new IdentityHashMap<>();
+        List<Stored> data = new ArrayList<>();
+        long end = dataStart;
+        for (Stored stored : values) {
+            if (!positions.containsKey(stored)) {
+                if (end > Integer.MAX_VALUE) {
+                    throw new IOException("Cache snapshot would be too large to be mapped: " + file);
+                }
+                positions.put(stored, (int) end);
+                data.add(stored);
+                end += stored.data().remaining();
+            }
+        }
+        if (end > Integer.MAX_VALUE) {
+            throw new IOException("Cache snapshot would be too large to be mapped: " + file);
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        // Unique name, in case several instances share the same volume
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(count);
+                int keyPosition = (int) keysStart;
+                for (int i = 0; i < count; i++) {
+                    Stored stored = values.get(i);
+                    out.writeInt(keyPosition);
+                    out.writeInt(positions.get(stored));
+                    out.writeInt(stored.data().remaining());
+                    out.writeLong(stored.writtenAt());
+                    keyPosition += 2 + keys.get(i).length;
+                }
+                for (byte[] key : keys) {
+                    out.writeShort(key.length);
+                    out.write(key);
+                }
+                byte[] chunk = new byte[8192];
+                for (Stored stored : data) {
+                    ByteBuffer bytes = stored.data().duplicate();
+                    while (bytes.hasRemaining()) {
+                        int length = Math.min(chunk.length, bytes.remaining());
+                        bytes.get(chunk, 0, length);
+                        out.write(chunk, 0, length);
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Encodes an entry field by field: strings as their UTF-8 length and bytes,
+     * lists as their size and elements, with -1 standing for null.
+     */
+    public static ByteBuffer encode(Entry entry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, entry.id);
+            writeString(out, entry.updated);
+            writeString(out, entry.published);
+            writeString(out, entry.title);
+            writeString(out, entry.summary);
+            writeString(out, entry.comment);
+            writeString(out, entry.journalRef);
+            writeString(out, entry.doi);
+            out.writeInt(entry.authors == null ? -1 : entry.authors.size());
+            if (entry.authors != null) {
+                for (Author author : entry.authors) {
+                    writeString(out, author.name);
+                    writeString(out, author.affiliation);
+                }
+            }
+            out.writeInt(entry.links == null ? -1 : entry.links.size());
+            if (entry.links != null) {
+                for (Link link : entry.links) {
+                    writeString(out, link.href);
+                    writeString(out, link.rel);
+                    writeString(out, link.title);
+                    writeString(out, link.type);
+                }
+            }
+            out.writeInt(entry.categories == null ? -1 : entry.categories.size());
+            if (entry.categories != null) {
+                for (Category category : entry.categories) {
+                    writeCategory(out, category);
+                }
+            }
+            out.writeBoolean(entry.primaryCategory != null);
+            if (entry.primaryCategory != null) {
+                writeCategory(out, entry.primaryCategory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    static Entry decode(ByteBuffer in) {
+        Entry entry = new Entry();
+        entry.id = readString(in);
+        entry.updated = readString(in);
+        entry.published = readString(in);
+        entry.title = readString(in);
+        entry.summary = readString(in);
+        entry.comment = readString(in);
+        entry.journalRef = readString(in);
+        entry.doi = readString(in);
+        int authors = in.getInt();
+        if (authors >= 0) {
+            entry.authors = new ArrayList<>(authors);
+            for (int i = 0; i < authors; i++) {
+                Author author = new Author();
+                author.name = readString(in);
+                author.affiliation = readString(in);
+                entry.authors.add(author);
+            }
+        }
+        int links = in.getInt();
+        if (links >= 0) {
+            entry.links = new ArrayList<>(links);
+            for (int i = 0; i < links; i++) {
+                Link link = new Link();
+                link.href = readString(in);
+                link.rel = readString(in);
+                link.title = readString(in);
+                link.type = readString(in);
+                entry.links.add(link);
+            }
+        }
+        int categories = in.getInt();
+        if (categories >= 0) {
+            entry.categories = new ArrayList<>(categories);
+            for (int i = 0; i < categories; i++) {
+                entry.categories.add(readCategory(in));
+            }
+        }
+        if (in.get() != 0) {
+            entry.primaryCategory = readCategory(in);
+        }
+        return entry;
+    }
+
+    private static void writeCategory(DataOutputStream out, Category category) throws IOException {
+        writeString(out, category.term);
+        writeString(out, category.scheme);
+    }
+
+    private static Category readCategory(ByteBuffer in) {
+        Category category = new Category();
+        category.term = readString(in);
+        category.scheme = readString(in);
+        return category;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -16,16 +16,27 @@
 package io.github.glaforge.mcp.arxiv.service;
 
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 import java.io.InputStream;
 
-@RegisterRestClient(baseUri = "https://arxiv.org")
+@RegisterRestClient(baseUri = "https://arxiv.org", configKey = "arxiv-pdf")
 public interface PdfClient {
     @GET
     @Path("/pdf/{id}")
     @Produces("application/pdf")
     InputStream getPdf(@PathParam("id") String id);
+
+    /**
+     * Asks for part of the PDF: a 206 response holds just that part, while a 200
+     * one means the server ignored the range and sends the whole file.
+     */
+    @GET
+    @Path("/pdf/{id}")
+    @Produces("application/pdf")
+    Response getPdfRange(@PathParam("id") String id, @HeaderParam("Range") String range);
 }
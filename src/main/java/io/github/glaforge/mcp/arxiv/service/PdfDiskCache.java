@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Local directory of downloaded PDFs, keyed by versioned arXiv ID.
+ * <p>
+ * A given version of a paper never changes, so cached files never need to be
+ * revalidated. The directory is bounded in size and evicts the least recently
+ * used files first; access times are kept in the file modification time so the
+ * order survives restarts.
+ * <p>
+ * The same class, with another file suffix, keeps the text extracted from PDFs.
+ */
+@ApplicationScoped
+public class PdfDiskCache {
+
+    /**
+     * Writes the content of a file being added to the cache.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private final Path directory;
+    private final String suffix;
+    private final long maxBytes;
+    private final boolean enabled;
+
+    // Access-ordered: iteration starts with the least recently used file
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Inject
+    public PdfDiskCache(
+        @ConfigProperty(name = "arxiv.pdf-cache.enabled", defaultValue = "true") boolean enabled,
+        @ConfigProperty(name = "arxiv.pdf-cache.directory", defaultValue = "${java.io.tmpdir}/arxiv-mcp-server/pdf") Path directory,
+        @ConfigProperty(name = "arxiv.pdf-cache.max-size", defaultValue = "1073741824") long maxBytes) {
+        this(enabled, directory, maxBytes, ".pdf");
+    }
+
+    PdfDiskCache(boolean enabled, Path directory, long maxBytes, String suffix) {
+        this.directory = directory;
+        this.suffix = suffix;
+        this.maxBytes = maxBytes;
+        this.enabled = enabled && open();
+    }
+
+    private boolean open() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> partials = Files.list(directory)) {
+                // Leftovers of downloads interrupted by a shutdown
+                for (Path partial : partials.filter(path -> path.toString().endsWith(".part")).toList()) {
+                    Files.deleteIfExists(partial);
+                }
+            }
+            try (Stream<Path> paths = Files.list(directory)) {
+                List<Path> existing = paths
+                    .filter(path -> path.getFileName().toString().endsWith(suffix))
+                    .sorted(Comparator.comparing(PdfDiskCache::lastModified))
+                    .toList();
+                for (Path path : existing) {
+                    long size = Files.size(path);
+                    files.put(path.getFileName().toString(), size);
+                    totalBytes += size;
+                }
+            }
+            evict();
+            return true;
+        } catch (IOException e) {
+            Log.warn("Disk cache of " + suffix + " files disabled, cannot use directory " + directory + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached file for the given versioned ID, or null if absent.
+     */
+    public synchronized Path get(String versionedId) {
+        String name = fileName(versionedId);
+        // get() rather than containsKey() so that the access order is updated
+        if (files.get(name) == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        Path path = directory.resolve(name);
+        if (!Files.exists(path)) {
+            totalBytes -= files.remove(name);
+            misses.incrementAndGet();
+            return null;
+        }
+        touch(path);
+        hits.incrementAndGet();
+        return path;
+    }
+
+    /**
+     * Copies the stream into the cache and returns the cached file. The copy goes
+     * to a temporary file first, so a failed or oversized download never leaves a
+     * partial PDF behind.
+     */
+    public Path put(String versionedId, InputStream in, long maxSize) throws IOException {
+        return put(versionedId, out -> {
+            long size = 0;
+            byte[] buffer = new byte[PdfService.CHUNK_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+                if (size > maxSize) {
+                    throw new IOException("PDF exceeds the maximum size of " + maxSize + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        });
+    }
+
+    /**
+     * Adds the file written by {@code writer} to the cache and returns it, with the
+     * same guarantee that a failed write leaves nothing behind.
+     */
+    public Path put(String versionedId, ContentWriter writer) throws IOException {
+        String name = fileName(versionedId);
+        Path temp = Files.createTempFile(directory, name, ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            long size = Files.size(temp);
+            Path path = directory.resolve(name);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                Long previous = files.put(name, size);
+                totalBytes += size - (previous == null ? 0 : previous);
+                evict();
+            }
+            return path;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public synchronized long sizeInBytes() {
+        return totalBytes;
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> it = files.entrySet().iterator();
+        // Always keep the most recent file, even if it alone exceeds the cap
+        while (totalBytes > maxBytes && files.size() > 1 && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            try {
+                Files.deleteIfExists(directory.resolve(eldest.getKey()));
+            } catch (IOException e) {
+                Log.warn("Failed to evict cached PDF " + eldest.getKey() + ": " + e.getMessage());
+            }
+            totalBytes -= eldest.getValue();
+            it.remove();
+        }
+    }
+
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    String fileName(String versionedId) {
+        // Old-style IDs such as hep-th/9901001v1 contain a slash
+        return versionedId.replace('/', '_') + suffix;
+    }
+}
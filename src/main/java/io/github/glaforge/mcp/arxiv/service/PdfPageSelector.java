@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import org.apache.pdfbox.multipdf.Splitter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Writes a PDF made of a range of pages of another one, with PDFBox.
+ * <p>
+ * The selected pages are copied with the resources they use and the attributes
+ * they inherit from the page tree, and streams are copied still compressed.
+ * Links to the pages left out lose their destination.
+ */
+public class PdfPageSelector implements Closeable {
+
+    private final PDDocument document;
+
+    private PdfPageSelector(PDDocument document) {
+        this.document = document;
+    }
+
+    public static PdfPageSelector read(ByteBuffer pdf) throws IOException {
+        PDDocument document = PdfTextExtractor.load(pdf);
+        if (!document.getCurrentAccessPermission().canAssembleDocument()) {
+            document.close();
+            throw new IOException("The PDF does not allow its pages to be copied");
+        }
+        return new PdfPageSelector(document);
+    }
+
+    public int pageCount() {
+        return document.getNumberOfPages();
+    }
+
+    /**
+     * Returns a PDF made of pages {@code firstPage} to {@code lastPage}, numbered
+     * from 1, both included.
+     */
+    public byte[] write(int firstPage, int lastPage) throws IOException {
+        if (firstPage < 1 || lastPage > pageCount() || firstPage > lastPage) {
+            throw new IllegalArgumentException("Invalid page range " + firstPage + "-" + lastPage
+                + " for a PDF of " + pageCount() + " pages");
+        }
+        Splitter splitter = new Splitter();
+        splitter.setStartPage(firstPage);
+        splitter.setEndPage(lastPage);
+        splitter.setSplitAtPage(lastPage - firstPage + 1);
+        List<PDDocument> parts = splitter.split(document);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PDDocument selected = parts.get(0)) {
+            selected.save(out);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+        document.close();
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Downloads PDFs and encodes them to Base64 chunk by chunk, so that the raw
+ * document is never held in memory next to its encoded form.
+ * <p>
+ * When the {@link PdfDiskCache} is enabled, each versioned PDF is downloaded
+ * once into the cache and then served from a memory-mapped file. Unversioned IDs
+ * are first resolved to their latest version through the paper metadata.
+ */
+@ApplicationScoped
+public class PdfService {
+
+    static final int CHUNK_SIZE = 48 * 1024;
+
+    @Inject
+    @RestClient
+    PdfClient pdfClient;
+
+    @Inject
+    PdfDiskCache diskCache;
+
+    @Inject
+    ArxivService arxivService;
+
+    @Inject
+    UpstreamMetrics upstreamMetrics;
+
+    @ConfigProperty(name = "arxiv.pdf.max-size", defaultValue = "52428800")
+    long maxSize;
+
+    @ConfigProperty(name = "arxiv.pdf.max-concurrent-downloads", defaultValue = "4")
+    int maxConcurrentDownloads;
+
+    @ConfigProperty(name = "arxiv.pdf.download-queue-timeout", defaultValue = "PT30S")
+    Duration queueTimeout;
+
+    @ConfigProperty(name = "arxiv.retry.max-attempts", defaultValue = "3")
+    int maxAttempts;
+
+    @ConfigProperty(name = "arxiv.retry.initial-backoff", defaultValue = "PT1S")
+    Duration initialBackoff;
+
+    @ConfigProperty(name = "arxiv.retry.max-backoff", defaultValue = "PT10S")
+    Duration maxBackoff;
+
+    @ConfigProperty(name = "arxiv.circuit-breaker.failure-threshold", defaultValue = "5")
+    int failureThreshold;
+
+    @ConfigProperty(name = "arxiv.circuit-breaker.open-duration", defaultValue = "PT30S")
+    Duration openDuration;
+
+    private ConcurrencyLimit downloads;
+    private UpstreamPolicy policy;
+
+    private final SingleFlight<String, Path> inFlightDownloads = new SingleFlight<>();
+
+    @PostConstruct
+    void init() {
+        downloads = new ConcurrencyLimit("PDF downloads", maxConcurrentDownloads, queueTimeout);
+        policy = new UpstreamPolicy("PDF download", maxAttempts, initialBackoff, maxBackoff,
+            new CircuitBreaker("arXiv PDF server", failureThreshold, openDuration));
+    }
+
+    public ConcurrencyLimit concurrencyLimit() {
+        return downloads;
+    }
+
+    public UpstreamPolicy upstreamPolicy() {
+        return policy;
+    }
+
+    public String fetchBase64(String id) {
+        if (diskCache.isEnabled()) {
+            String versionedId = resolveVersion(id);
+            if (versionedId != null) {
+                try {
+                    try {
+                        return encodeBase64(fetchToCache(versionedId));
+                    } catch (NoSuchFileException e) {
+                        // Evicted between lookup and read, fetch it again
+                        return encodeBase64(fetchToCache(versionedId));
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to fetch PDF for " + id, e);
+                }
+            }
+        }
+        return download(id);
+    }
+
+    /**
+     * Returns the cached PDF file of the given version, downloading it first if needed.
+     */
+    public Path fetchToCache(String versionedId) {
+        Path cached = diskCache.get(versionedId);
+        if (cached != null) {
+            return cached;
+        }
+        return inFlightDownloads.execute(versionedId, () -> policy.execute(() -> {
+            downloads.acquire(versionedId);
+            try (InputStream in = upstreamMetrics.call(UpstreamMetrics.PDF, () -> pdfClient.getPdf(versionedId))) {
+                return diskCache.put(versionedId, in, maxSize);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to fetch PDF for " + versionedId, e);
+            } finally {
+                downloads.release();
+            }
+        }));
+    }
+
+    /**
+     * Returns the content of the PDF of the given version: a memory-mapped view of
+     * the cached file, or the downloaded bytes when the disk cache is disabled.
+     */
+    public ByteBuffer fetchBytes(String versionedId) {
+        try {
+            if (diskCache.isEnabled()) {
+                try {
+                    return map(fetchToCache(versionedId));
+                } catch (NoSuchFileException e) {
+                    // Evicted between lookup and read, fetch it again
+                    return map(fetchToCache(versionedId));
+                }
+            }
+            return ByteBuffer.wrap(policy.execute(() -> {
+                downloads.acquire(versionedId);
+                try (InputStream in = upstreamMetrics.call(UpstreamMetrics.PDF, () -> pdfClient.getPdf(versionedId))) {
+                    return readAll(in, maxSize);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to fetch PDF for " + versionedId, e);
+                } finally {
+                    downloads.release();
+                }
+            }));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to fetch PDF for " + versionedId, e);
+        }
+    }
+
+    /**
+     * Returns, encoded to Base64, a PDF made of pages {@code firstPage} to
+     * {@code lastPage} of a paper, numbered from 1. A {@code lastPage} of 0 stands
+     * for the last page. The whole PDF is fetched, or taken from the disk cache, to
+     * find what the pages need.
+     */
+    public String fetchPagesBase64(String id, int firstPage, int lastPage) {
+        String versionedId = resolveVersion(id);
+        if (versionedId == null) {
+            throw new RuntimeException("Paper not found: " + id);
+        }
+        try (PdfPageSelector selector = PdfPageSelector.read(fetchBytes(versionedId))) {
+            int first = Math.max(1, firstPage);
+            int last = lastPage <= 0 ? selector.pageCount() : Math.min(lastPage, selector.pageCount());
+            if (first > selector.pageCount()) {
+                throw new RuntimeException("Paper " + versionedId + " only has " + selector.pageCount() + " pages");
+            }
+            if (first > last) {
+                throw new RuntimeException("Invalid page range " + firstPage + "-" + lastPage);
+            }
+            return Base64.getEncoder().encodeToString(selector.write(first, last));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read the pages of " + id + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns bytes {@code first} to {@code last} of the PDF of a paper, both
+     * included, or up to the end of the file when {@code last} is negative, at most
+     * the maximum PDF size. They are read from the disk cache when the PDF is
+     * there, and otherwise requested with an HTTP range, so that only the slice is
+     * downloaded if the server supports it.
+     */
+    public byte[] fetchRange(String id, long first, long last) {
+        if (first < 0 || (last >= 0 && last < first)) {
+            throw new RuntimeException("Invalid byte range " + first + "-" + (last < 0 ? "" : last));
+        }
+        long length = Math.min(maxSize, last < 0 ? Long.MAX_VALUE : last - first + 1);
+        if (diskCache.isEnabled()) {
+            String versionedId = resolveVersion(id);
+            Path cached = versionedId == null ? null : diskCache.get(versionedId);
+            if (cached != null) {
+                try {
+                    ByteBuffer pdf = map(cached);
+                    if (first >= pdf.limit()) {
+                        throw new RuntimeException("Byte range starts past the end of the PDF of " + id
+                            + ", which has " + pdf.limit() + " bytes");
+                    }
+                    byte[] slice = new byte[(int) Math.min(length, pdf.limit() - first)];
+                    pdf.get((int) first, slice);
+                    return slice;
+                } catch (NoSuchFileException e) {
+                    // Evicted since the lookup, ask arXiv
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to read PDF for " + id, e);
+                }
+            }
+        }
+        String range = "bytes=" + first + "-" + (last < 0 ? "" : last);
+        return policy.execute(() -> {
+            downloads.acquire(id);
+            Response[] response = new Response[1];
+            try (InputStream in = upstreamMetrics.call(UpstreamMetrics.PDF, () -> {
+                response[0] = pdfClient.getPdfRange(id, range);
+                return response[0].readEntity(InputStream.class);
+            })) {
+                if (response[0].getStatus() != Response.Status.PARTIAL_CONTENT.getStatusCode()) {
+                    // Ranges not supported: skip to the slice in the whole file
+                    in.skipNBytes(first);
+                }
+                return in.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, length));
+            } catch (EOFException e) {
+                throw new RuntimeException("Byte range starts past the end of the PDF of " + id, e);
+            } catch (WebApplicationException e) {
+                if (e.getResponse().getStatus() == Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode()) {
+                    throw new RuntimeException("Byte range starts past the end of the PDF of " + id, e);
+                }
+                throw e;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to fetch PDF for " + id, e);
+            } finally {
+                if (response[0] != null) {
+                    response[0].close();
+                }
+                downloads.release();
+            }
+        });
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static byte[] readAll(InputStream in, long maxSize) throws IOException {
+        byte[] content = in.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxSize + 1));
+        if (content.length > maxSize) {
+            throw new IOException("PDF exceeds the maximum size of " + maxSize + " bytes");
+        }
+        return content;
+    }
+
+    /**
+     * Returns the versioned ID for the given ID, or null if it cannot be resolved.
+     */
+    String resolveVersion(String id) {
+        String normalized = ArxivIds.normalize(id);
+        if (ArxivIds.isVersioned(normalized)) {
+            return normalized;
+        }
+        return ArxivIds.fromEntry(arxivService.findEntry(normalized));
+    }
+
+    private String download(String id) {
+        return policy.execute(() -> {
+            downloads.acquire(id);
+            try (InputStream in = upstreamMetrics.call(UpstreamMetrics.PDF, () -> pdfClient.getPdf(id))) {
+                return encodeBase64(in, maxSize);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to fetch PDF for " + id, e);
+            } finally {
+                downloads.release();
+            }
+        });
+    }
+
+    /**
+     * Encodes a cached file to Base64 from a memory-mapped view of it, so the raw
+     * PDF is paged in by the OS instead of being copied onto the heap.
+     */
+    public static String encodeBase64(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            // The encoded length is known upfront, so the buffer never has to grow
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream((int) Math.min(Integer.MAX_VALUE - 8, 4 * ((size + 2) / 3)));
+            byte[] chunk = new byte[CHUNK_SIZE];
+            try (OutputStream base64 = Base64.getEncoder().wrap(encoded)) {
+                while (mapped.hasRemaining()) {
+                    int read = Math.min(chunk.length, mapped.remaining());
+                    mapped.get(chunk, 0, read);
+                    base64.write(chunk, 0, read);
+                }
+            }
+            return encoded.toString(StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Encodes the stream to Base64 through a fixed-size read buffer, failing as
+     * soon as more than {@code maxSize} raw bytes have been read.
+     */
+    public static String encodeBase64(InputStream in, long maxSize) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(CHUNK_SIZE * 4 / 3);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        long total = 0;
+        try (OutputStream base64 = Base64.getEncoder().wrap(encoded)) {
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                total += read;
+                if (total > maxSize) {
+                    throw new IOException("PDF exceeds the maximum size of " + maxSize + " bytes");
+                }
+                base64.write(chunk, 0, read);
+            }
+        }
+        // Base64 output is pure ASCII, so Latin-1 maps it 1:1 onto a compact String
+        return encoded.toString(StandardCharsets.ISO_8859_1);
+    }
+}
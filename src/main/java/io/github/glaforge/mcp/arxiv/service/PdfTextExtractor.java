@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObjectKey;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Extracts the text of a PDF page by page with PDFBox.
+ * <p>
+ * Each page is handed over as soon as its text is extracted, so the text of the
+ * whole document is never held in memory. Lines are stripped of surrounding
+ * whitespace and blank lines are dropped. Images and annotations are ignored.
+ */
+public class PdfTextExtractor {
+
+    /**
+     * Receives the text of each page, in page order, as soon as it is extracted.
+     */
+    @FunctionalInterface
+    public interface PageConsumer {
+        void accept(int page, String text) throws IOException;
+    }
+
+    // PDFBox decodes each stream into memory at once, so decompression bombs are looked for beforehand
+    private static final long MAX_INFLATED_SIZE = 256L * 1024 * 1024;
+
+    private PdfTextExtractor() {
+    }
+
+    /**
+     * Loads a PDF with PDFBox, straight from the given buffer.
+     */
+    static PDDocument load(ByteBuffer pdf) throws IOException {
+        PDDocument document = Loader.loadPDF(new RandomAccessReadBuffer(pdf.duplicate()));
+        if (document.getNumberOfPages() == 0) {
+            document.close();
+            throw new IOException("No pages found, the file is not a readable PDF");
+        }
+        return document;
+    }
+
+    /**
+     * Inflates the Flate-compressed streams other than images, without keeping
+     * what they decompress to, and fails if together they exceed
+     * {@link #MAX_INFLATED_SIZE}.
+     */
+    static void checkInflatedSize(PDDocument document) throws IOException {
+        long remaining = MAX_INFLATED_SIZE;
+        byte[] buffer = new byte[64 * 1024];
+        for (COSObjectKey key : document.getDocument().getXrefTable().keySet()) {
+            if (!(document.getDocument().getObjectFromPool(key).getObject() instanceof COSStream stream)
+                || COSName.IMAGE.equals(stream.getCOSName(COSName.SUBTYPE)) || !isFlate(stream.getFilters())) {
+                continue;
+            }
+            try (InputStream in = new InflaterInputStream(stream.createRawInputStream())) {
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    remaining -= read;
+                    if (remaining < 0) {
+                        throw new IOException("The PDF decompresses to more than " + (MAX_INFLATED_SIZE >> 20) + " MB");
+                    }
+                }
+            } catch (ZipException | EOFException e) {
+                // Corrupt streams are left to PDFBox, which keeps what it could decompress
+            }
+        }
+    }
+
+    private static boolean isFlate(COSBase filters) {
+        if (filters instanceof COSArray array) {
+            return array.size() == 1 && COSName.FLATE_DECODE.equals(array.getObject(0));
+        }
+        return COSName.FLATE_DECODE.equals(filters);
+    }
+
+    /**
+     * Extracts the text of every page of the given PDF, and returns the number of pages.
+     */
+    public static int extract(ByteBuffer pdf, PageConsumer consumer) throws IOException {
+        try (PDDocument document = load(pdf)) {
+            checkInflatedSize(document);
+            new PageStripper(consumer).writeText(document, new StringWriter());
+            return document.getNumberOfPages();
+        }
+    }
+
+    /**
+     * Hands the text written for each page over to the consumer once the page ends.
+     */
+    private static class PageStripper extends PDFTextStripper {
+        private final PageConsumer consumer;
+
+        PageStripper(PageConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void endPage(PDPage page) throws IOException {
+            super.endPage(page);
+            StringWriter text = (StringWriter) getOutput();
+            consumer.accept(getCurrentPageNo(), clean(text.toString()));
+            text.getBuffer().setLength(0);
+        }
+    }
+
+    private static String clean(String text) {
+        StringBuilder cleaned = new StringBuilder(text.length());
+        for (String line : text.split("\n")) {
+            String stripped = line.strip();
+            if (!stripped.isEmpty()) {
+                cleaned.append(stripped).append('\n');
+            }
+        }
+        return cleaned.toString();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Plain text of paper PDFs, extracted by {@link PdfTextExtractor} once per
+ * versioned ID.
+ * <p>
+ * The text is written page by page to a gzipped file, with pages separated by
+ * form feeds, and kept in a {@link PdfDiskCache} of its own. Reading some pages
+ * of a paper again then costs neither a download nor an extraction.
+ */
+@ApplicationScoped
+public class PdfTextService {
+
+    private static final char PAGE_BREAK = '\f';
+
+    @Inject
+    PdfService pdfService;
+
+    @ConfigProperty(name = "arxiv.pdf-text-cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "arxiv.pdf-text-cache.directory", defaultValue = "${java.io.tmpdir}/arxiv-mcp-server/text")
+    Path directory;
+
+    @ConfigProperty(name = "arxiv.pdf-text-cache.max-size", defaultValue = "268435456")
+    long maxSize;
+
+    private PdfDiskCache textCache;
+
+    private final SingleFlight<String, Path> inFlightExtractions = new SingleFlight<>();
+
+    @PostConstruct
+    void init() {
+        textCache = new PdfDiskCache(enabled, directory, maxSize, ".txt.gz");
+    }
+
+    public PdfDiskCache textCache() {
+        return textCache;
+    }
+
+    /**
+     * Returns the text of pages {@code firstPage} to {@code lastPage} of a paper,
+     * numbered from 1, each introduced by its number. A {@code lastPage} of 0 stands
+     * for the last page, and the text is cut after {@code maxChars} characters when
+     * it is greater than 0.
+     */
+    public String text(String id, int firstPage, int lastPage, int maxChars) {
+        String versionedId = pdfService.resolveVersion(id);
+        if (versionedId == null) {
+            throw new RuntimeException("Paper not found: " + id);
+        }
+        String text;
+        try {
+            if (textCache.isEnabled()) {
+                try {
+                    text = read(Files.newInputStream(fetchToCache(versionedId)));
+                } catch (NoSuchFileException e) {
+                    // Evicted between lookup and read, extract it again
+                    text = read(Files.newInputStream(fetchToCache(versionedId)));
+                }
+            } else {
+                ByteArrayOutputStream extracted = new ByteArrayOutputStream();
+                extract(versionedId, extracted);
+                text = read(new ByteArrayInputStream(extracted.toByteArray()));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to extract the text of " + id + ": " + e.getMessage(), e);
+        }
+        return format(versionedId, text, firstPage, lastPage, maxChars);
+    }
+
+    private Path fetchToCache(String versionedId) {
+        Path cached = textCache.get(versionedId);
+        if (cached != null) {
+            return cached;
+        }
+        return inFlightExtractions.execute(versionedId, () -> {
+            try {
+                return textCache.put(versionedId, out -> extract(versionedId, out));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to extract the text of " + versionedId + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private void extract(String versionedId, OutputStream out) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8)) {
+            PdfTextExtractor.extract(pdfService.fetchBytes(versionedId), (page, text) -> {
+                if (page > 1) {
+                    writer.write(PAGE_BREAK);
+                }
+                writer.write(text.replace(PAGE_BREAK, ' '));
+            });
+        }
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (in; InputStream text = new GZIPInputStream(in)) {
+            return new String(text.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static String format(String versionedId, String text, int firstPage, int lastPage, int maxChars) {
+        String[] pages = text.split(String.valueOf(PAGE_BREAK), -1);
+        int first = Math.max(1, firstPage);
+        int last = lastPage <= 0 ? pages.length : Math.min(lastPage, pages.length);
+        if (first > pages.length) {
+            throw new RuntimeException("Paper " + versionedId + " only has " + pages.length + " pages");
+        }
+        if (first > last) {
+            throw new RuntimeException("Invalid page range " + firstPage + "-" + lastPage);
+        }
+        StringBuilder out = new StringBuilder();
+        for (int page = first; page <= last; page++) {
+            out.append("--- Page ").append(page).append(" of ").append(pages.length).append(" ---\n")
+                .append(pages[page - 1]);
+            if (!pages[page - 1].endsWith("\n")) {
+                out.append('\n');
+            }
+        }
+        if (maxChars > 0 && out.length() > maxChars) {
+            out.setLength(maxChars);
+            out.append("…");
+        }
+        return out.toString();
+    }
+}
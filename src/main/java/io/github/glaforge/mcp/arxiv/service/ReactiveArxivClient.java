@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.Produces;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
+
+/**
+ * Non-blocking counterpart of {@link ArxivClient}, sharing its {@code arxiv-api}
+ * configuration. The body is buffered by the client without holding a thread,
+ * then parsed in memory: arXiv responses are at most a few megabytes.
+ */
+@RegisterRestClient(baseUri = "https://export.arxiv.org/api", configKey = "arxiv-api")
+@RegisterProvider(ArxivResponseFilter.class)
+public interface ReactiveArxivClient {
+
+    @GET
+    @Path("/query")
+    @Produces("*/*")
+    Uni<byte[]> search(
+        @QueryParam("search_query") String searchQuery,
+        @QueryParam("id_list") String idList,
+        @QueryParam("start") int start,
+        @QueryParam("max_results") int maxResults,
+        @QueryParam("sortBy") String sortBy,
+        @QueryParam("sortOrder") String sortOrder);
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Feed;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Normalized parameters of an arXiv API query, used to recognize identical requests.
+ */
+public record SearchKey(String searchQuery, String idList, int start, int maxResults, String sortBy, String sortOrder) {
+
+    public static SearchKey of(String searchQuery, String idList, int start, int maxResults, String sortBy, String sortOrder) {
+        return new SearchKey(
+            normalizeQuery(searchQuery),
+            normalizeIdList(idList),
+            start,
+            maxResults,
+            blankToNull(sortBy),
+            blankToNull(sortOrder));
+    }
+
+    /**
+     * Returns the key of the page following the given one, or null if it was the last page.
+     */
+    public SearchKey nextPage(Feed page) {
+        if (idList != null || page.totalResults == null || maxResults <= 0) {
+            return null;
+        }
+        int next = start + maxResults;
+        if (next >= page.totalResults || page.entries == null || page.entries.isEmpty()) {
+            return null;
+        }
+        return new SearchKey(searchQuery, null, next, maxResults, sortBy, sortOrder);
+    }
+
+    /**
+     * Encodes this key of a search page as an opaque continuation token.
+     */
+    public String toToken() {
+        String value = String.join("\n", nullToEmpty(searchQuery), Integer.toString(start),
+            Integer.toString(maxResults), nullToEmpty(sortBy), nullToEmpty(sortOrder));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #toToken()}.
+     */
+    public static SearchKey fromToken(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8).split("\n", -1);
+            if (parts.length != 5) {
+                throw new IllegalArgumentException();
+            }
+            return of(parts[0], null, Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), parts[3], parts[4]);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid page token: " + token);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String normalizeQuery(String query) {
+        String value = blankToNull(query);
+        return value == null ? null : value.trim().replaceAll("\\s+", " ");
+    }
+
+    private static String normalizeIdList(String idList) {
+        String value = blankToNull(idList);
+        if (value == null) {
+            return null;
+        }
+        return Arrays.stream(value.split(","))
+            .map(ArxivIds::normalize)
+            .filter(id -> !id.isEmpty())
+            .collect(Collectors.joining(","));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
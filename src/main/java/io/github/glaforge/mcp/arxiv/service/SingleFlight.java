@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.smallrye.mutiny.Uni;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into a single execution.
+ * The first caller runs the loader; callers arriving while it is in flight
+ * wait for and share its result, or its exception. Blocking and reactive
+ * callers of the same key share the same execution.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            shared.incrementAndGet();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        executions.incrementAndGet();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute(Object, Supplier)}. The loader is
+     * subscribed to on its own, so a caller giving up does not cancel it for the
+     * callers sharing its result.
+     */
+    public Uni<V> executeAsync(K key, Supplier<Uni<V>> loader) {
+        return Uni.createFrom().deferred(() -> {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                shared.incrementAndGet();
+                return Uni.createFrom().completionStage(existing.copy());
+            }
+
+            executions.incrementAndGet();
+            Uni<V> load;
+            try {
+                load = loader.get();
+            } catch (RuntimeException e) {
+                load = Uni.createFrom().failure(e);
+            }
+            load.subscribe().with(
+                value -> {
+                    inFlight.remove(key, future);
+                    future.complete(value);
+                },
+                failure -> {
+                    inFlight.remove(key, future);
+                    future.completeExceptionally(failure);
+                });
+            return Uni.createFrom().completionStage(future.copy());
+        });
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public long executionCount() {
+        return executions.get();
+    }
+
+    public long sharedCount() {
+        return shared.get();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency and size histograms of the calls made to arXiv, tagged by client
+ * ({@code api} for the export API, {@code pdf} for PDF downloads).
+ */
+@ApplicationScoped
+public class UpstreamMetrics {
+
+    public static final String API = "api";
+    public static final String PDF = "pdf";
+
+    @Inject
+    MeterRegistry registry;
+
+    /**
+     * Times an upstream call until its response is available, and counts the
+     * bytes of the returned body as they are read.
+     */
+    public InputStream call(String client, Supplier<InputStream> request) {
+        Timer.Sample sample = Timer.start(registry);
+        InputStream response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            sample.stop(requestTimer(client, "error"));
+            throw e;
+        }
+        sample.stop(requestTimer(client, "success"));
+        return new CountingInputStream(response, responseSize(client)::record);
+    }
+
+    /**
+     * Non-blocking variant of {@link #call(String, Supplier)} for calls whose
+     * body is buffered by the client: the timer covers the whole body.
+     */
+    public Uni<byte[]> callAsync(String client, Supplier<Uni<byte[]>> request) {
+        return Uni.createFrom().deferred(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return request.get()
+                .invoke(body -> {
+                    sample.stop(requestTimer(client, "success"));
+                    responseSize(client).record(body.length);
+                })
+                .onFailure().invoke(e -> sample.stop(requestTimer(client, "error")));
+        });
+    }
+
+    /**
+     * Records how long parsing a feed took and how many entries it held.
+     */
+    public void recordParse(long nanos, int entries) {
+        Timer.builder("arxiv.feed.parse")
+            .description("Time spent reading and parsing arXiv Atom responses")
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("arxiv.feed.entries")
+            .description("Number of entries per arXiv response")
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(entries);
+    }
+
+    private DistributionSummary responseSize(String client) {
+        return DistributionSummary.builder("arxiv.upstream.response.size")
+            .description("Size of arXiv response bodies")
+            .baseUnit("bytes")
+            .tag("client", client)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private Timer requestTimer(String client, String outcome) {
+        return Timer.builder("arxiv.upstream.requests")
+            .description("Latency of arXiv calls until the response headers are received")
+            .tags("client", client, "outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+}
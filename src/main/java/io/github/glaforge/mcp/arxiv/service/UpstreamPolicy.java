@@ -0,0 +1,283 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Retries transient failures of calls to one upstream, behind a
+ * {@link CircuitBreaker}, and optionally hedges slow calls.
+ * <p>
+ * Each attempt is a whole call, including its wait for the rate limiter and
+ * the concurrency cap, so retries and hedges are paced like any other call.
+ * Retries wait for an exponential backoff with full jitter, so that callers
+ * failing together don't all come back at once. Only 5xx and 429 responses,
+ * timeouts and connection failures are retried; other errors are returned
+ * as they are.
+ */
+public class UpstreamPolicy {
+
+    private final String description;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final CircuitBreaker circuitBreaker;
+
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    /**
+     * @param description what is called, used in error messages, such as "arXiv API request"
+     * @param maxAttempts attempts per call, including the first one
+     */
+    public UpstreamPolicy(String description, int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+                          CircuitBreaker circuitBreaker) {
+        this.description = description;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Runs the call, retrying it on transient failures.
+     */
+    public <T> T execute(Supplier<T> attempt) {
+        for (int retry = 0; ; retry++) {
+            circuitBreaker.acquirePermission();
+            try {
+                T result = attempt.get();
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                if (retry + 1 >= maxAttempts) {
+                    throw exhausted(e);
+                }
+                retries.incrementAndGet();
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoffNanos(retry));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while retrying " + description, interrupted);
+                }
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute(Supplier)}.
+     */
+    public <T> Uni<T> executeAsync(Supplier<Uni<T>> attempt) {
+        return executeAsync(attempt, 0);
+    }
+
+    private <T> Uni<T> executeAsync(Supplier<Uni<T>> attempt, int retry) {
+        return Uni.createFrom().deferred(() -> {
+                circuitBreaker.acquirePermission();
+                return attempt.get();
+            })
+            .invoke(circuitBreaker::onSuccess)
+            .onFailure().recoverWithUni(e -> {
+                if (!isTransient(e)) {
+                    return Uni.createFrom().failure(e);
+                }
+                circuitBreaker.onFailure();
+                if (retry + 1 >= maxAttempts) {
+                    return Uni.createFrom().failure(exhausted(e));
+                }
+                retries.incrementAndGet();
+                return Uni.createFrom().voidItem()
+                    .onItem().delayIt().by(Duration.ofNanos(backoffNanos(retry)))
+                    .chain(() -> executeAsync(attempt, retry + 1));
+            });
+    }
+
+    /**
+     * Sends a second, identical call when the first one has not answered within
+     * {@code delay}, and returns whichever answers first. The hedge is only sent
+     * when {@code allowed} says so, typically when it would not delay other calls.
+     * The call fails when every call sent has failed.
+     */
+    public <T> Uni<T> hedged(Supplier<Uni<T>> attempt, Duration delay, BooleanSupplier allowed) {
+        return Uni.createFrom().emitter(emitter -> {
+            Hedge<T> hedge = new Hedge<>(emitter);
+            emitter.onTermination(hedge::cancel);
+            hedge.start();
+            hedge.send(attempt.get(), false);
+            hedge.timer = Uni.createFrom().voidItem()
+                .onItem().delayIt().by(delay)
+                .subscribe().with(ignored -> {
+                    if (allowed.getAsBoolean() && hedge.start()) {
+                        hedges.incrementAndGet();
+                        hedge.send(attempt.get(), true);
+                    }
+                });
+        });
+    }
+
+    /**
+     * The calls of a hedged request, the first result of which completes it.
+     */
+    private class Hedge<T> {
+        private final UniEmitter<? super T> emitter;
+        private final List<Cancellable> calls = new ArrayList<>();
+        private int running;
+        private boolean done;
+        Cancellable timer;
+
+        Hedge(UniEmitter<? super T> emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized boolean start() {
+            if (done) {
+                return false;
+            }
+            running++;
+            return true;
+        }
+
+        /**
+         * Subscribes to a call counted by {@link #start()}.
+         */
+        void send(Uni<T> call, boolean isHedge) {
+            Cancellable subscription = call.subscribe().with(
+                item -> {
+                    if (finish()) {
+                        if (isHedge) {
+                            hedgeWins.incrementAndGet();
+                        }
+                        emitter.complete(item);
+                    }
+                },
+                failure -> {
+                    if (fail()) {
+                        emitter.fail(failure);
+                    }
+                });
+            synchronized (this) {
+                if (!done) {
+                    calls.add(subscription);
+                    return;
+                }
+            }
+            // Completed or cancelled meanwhile
+            subscription.cancel();
+        }
+
+        private synchronized boolean finish() {
+            if (done) {
+                return false;
+            }
+            done = true;
+            return true;
+        }
+
+        private synchronized boolean fail() {
+            if (done || --running > 0) {
+                return false;
+            }
+            done = true;
+            return true;
+        }
+
+        void cancel() {
+            List<Cancellable> toCancel;
+            synchronized (this) {
+                done = true;
+                toCancel = new ArrayList<>(calls);
+            }
+            if (timer != null) {
+                timer.cancel();
+            }
+            toCancel.forEach(Cancellable::cancel);
+        }
+    }
+
+    /**
+     * Returns how long to wait before the given retry, counted from 0: a random
+     * duration up to the initial backoff doubled on every retry, capped.
+     */
+    long backoffNanos(int retry) {
+        long ceiling = initialBackoffNanos << Math.min(retry, 30);
+        if (ceiling <= 0 || ceiling > maxBackoffNanos) {
+            ceiling = maxBackoffNanos;
+        }
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private RuntimeException exhausted(Throwable e) {
+        return new RuntimeException(description + " failed after " + maxAttempts + " attempts: " + e.getMessage(), e);
+    }
+
+    /**
+     * Tells whether a failure may go away on its own: a 5xx or 429 response,
+     * a timeout or a connection failure.
+     */
+    public static boolean isTransient(Throwable failure) {
+        for (Throwable e = failure; e != null; e = e.getCause()) {
+            if (e instanceof WebApplicationException web) {
+                int status = web.getResponse().getStatus();
+                return status >= 500 || status == 429;
+            }
+            if (e instanceof ProcessingException || e instanceof SocketException
+                    || e instanceof SocketTimeoutException || e instanceof TimeoutException) {
+                return true;
+            }
+            if (e.getCause() == e) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public long retryCount() {
+        return retries.get();
+    }
+
+    public long hedgeCount() {
+        return hedges.get();
+    }
+
+    public long hedgeWinCount() {
+        return hedgeWins.get();
+    }
+}
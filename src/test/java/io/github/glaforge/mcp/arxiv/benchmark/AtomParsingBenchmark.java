@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.benchmark;
+
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import io.github.glaforge.mcp.arxiv.service.AtomFeedParser;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former path (whole response read as a String, then bound by
+ * XmlMapper) with the streaming StAX parser reading the response stream.
+ * Run with {@code ./mvnw test -Pbenchmarks -Dbenchmarks="AtomParsingBenchmark -prof gc"}
+ * to also compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AtomParsingBenchmark {
+
+    @Param({"1", "100", "2000"})
+    public int entries;
+
+    private byte[] response;
+    private final XmlMapper xmlMapper = new XmlMapper();
+    private final AtomFeedParser feedParser = new AtomFeedParser();
+
+    @Setup
+    public void setup() throws IOException {
+        response = Fixtures.feed(entries);
+    }
+
+    @Benchmark
+    public Feed xmlMapperFromString() throws IOException {
+        String body = new String(response, StandardCharsets.UTF_8);
+        return xmlMapper.readValue(body, Feed.class);
+    }
+
+    @Benchmark
+    public Feed staxFromStream() throws IOException {
+        try (InputStream in = new ByteArrayInputStream(response)) {
+            return feedParser.parse(in);
+        }
+    }
+
+    @Benchmark
+    public void staxToConsumer(Blackhole blackhole) throws IOException {
+        try (InputStream in = new ByteArrayInputStream(response)) {
+            blackhole.consume(feedParser.parse(in, blackhole::consume));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.benchmark;
+
+import io.github.glaforge.mcp.arxiv.service.PdfService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base64 encoding of PDF-sized payloads for the PDF resource: the former
+ * read-everything-then-encode path, the chunked stream encoder, and the
+ * memory-mapped encoder used for PDFs served from the disk cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class Base64EncodingBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int megabytes;
+
+    private byte[] pdf;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        pdf = Fixtures.pdf(megabytes * 1024 * 1024);
+        file = Files.createTempFile("benchmark", ".pdf");
+        Files.write(file, pdf);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String readAllThenEncode() throws IOException {
+        try (InputStream in = new ByteArrayInputStream(pdf)) {
+            return Base64.getEncoder().encodeToString(in.readAllBytes());
+        }
+    }
+
+    @Benchmark
+    public String chunkedStream() throws IOException {
+        try (InputStream in = new ByteArrayInputStream(pdf)) {
+            return PdfService.encodeBase64(in, Long.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    public String memoryMappedFile() throws IOException {
+        return PdfService.encodeBase64(file);
+    }
+}
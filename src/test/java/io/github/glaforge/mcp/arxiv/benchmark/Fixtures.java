@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Builds Atom feeds of arbitrary size from the recorded test fixture, by
+ * repeating its entries until the requested count is reached, and PDFs of a
+ * given size.
+ */
+public final class Fixtures {
+
+    private static final String FIXTURE = "/fixtures/query-3-entries.xml";
+
+    private Fixtures() {
+    }
+
+    public static byte[] feed(int entryCount) throws IOException {
+        String xml = read(FIXTURE);
+        int firstEntry = xml.indexOf("<entry>");
+        int afterLastEntry = xml.lastIndexOf("</entry>") + "</entry>".length();
+        String header = xml.substring(0, firstEntry);
+        String footer = xml.substring(afterLastEntry);
+
+        String[] entries = xml.substring(firstEntry, afterLastEntry).split("(?<=</entry>)");
+        StringBuilder feed = new StringBuilder(header);
+        for (int i = 0; i < entryCount; i++) {
+            feed.append(entries[i % entries.length].strip()).append('\n');
+        }
+        feed.append(footer);
+        return feed.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Text of the pages of the PDFs returned by {@link #pdf(int)}.
+     */
+    public static final List<String> PDF_PAGES = List.of(
+        "Impact of Electron-Electron Cusp on Configuration Interaction Energies\n"
+            + "The effect of the electron-electron cusp on the convergence of configuration\n"
+            + "interaction (CI) wave functions is examined.\n",
+        "2. Method\nBy analogy with the pseudopotential approach, an effective interaction is developed.\n",
+        "3. Results\nThe cusp’s effect is smooth and finite at zero separation: café.\n");
+
+    /**
+     * A PDF with the text of {@link #PDF_PAGES}, padded to the given size with an
+     * unused stream of pseudo-random bytes, which is what the compressed streams
+     * making up most of a real PDF look like to an encoder.
+     */
+    public static byte[] pdf(int size) {
+        byte[] padding = new byte[0];
+        byte[] pdf = textPdf(PDF_PAGES, padding);
+        // The length of the padding is written in the file, so it takes a couple of rounds to hit the size
+        for (int round = 0; round < 3 && pdf.length != size && size > pdf.length - padding.length; round++) {
+            padding = new byte[Math.max(0, padding.length + size - pdf.length)];
+            new Random(42).nextBytes(padding);
+            pdf = textPdf(PDF_PAGES, padding);
+        }
+        return pdf;
+    }
+
+    /**
+     * A PDF showing each of the given pages line by line in Helvetica, with
+     * Flate-compressed content streams and fonts inherited from the page tree.
+     */
+    public static byte[] textPdf(List<String> pages, byte[] padding) {
+        PdfBuilder builder = new PdfBuilder();
+        int font = builder.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>");
+        int tree = builder.reserve();
+        StringBuilder kids = new StringBuilder();
+        for (String page : pages) {
+            StringBuilder content = new StringBuilder("BT /F1 11 Tf 14 TL 72 760 Td\n");
+            for (String line : page.split("\n")) {
+                content.append('(').append(line.replace("\\", "\\\\").replace("(", "\\(").replace(")", "\\)"))
+                    .append(") Tj T*\n");
+            }
+            content.append("ET\n");
+            int contents = builder.addStream("", content.toString().getBytes(Charset.forName("windows-1252")), true);
+            kids.append(builder.add("<< /Type /Page /Parent " + tree + " 0 R /Contents " + contents + " 0 R >>")).append(" 0 R ");
+        }
+        builder.set(tree, "<< /Type /Pages /Kids [" + kids + "] /Count " + pages.size()
+            + " /Resources << /Font << /F1 " + font + " 0 R >> >> /MediaBox [0 0 612 792] >>");
+        if (padding.length > 0) {
+            builder.addStream("", padding, false);
+        }
+        return builder.build(builder.add("<< /Type /Catalog /Pages " + tree + " 0 R >>"));
+    }
+
+    /**
+     * Writes PDF objects, numbered from 1 in the order they are added, followed
+     * by a cross-reference table.
+     */
+    public static final class PdfBuilder {
+
+        private final List<byte[]> objects = new ArrayList<>();
+
+        /**
+         * Returns the number of an object whose content is set later, to refer to it beforehand.
+         */
+        public int reserve() {
+            objects.add(null);
+            return objects.size();
+        }
+
+        public void set(int number, String body) {
+            objects.set(number - 1, body.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        public int add(String body) {
+            int number = reserve();
+            set(number, body);
+            return number;
+        }
+
+        /**
+         * Adds a stream, with {@code dictionary} holding any entries besides its length and filter.
+         */
+        public int addStream(String dictionary, byte[] data, boolean compressed) {
+            if (compressed) {
+                ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+                try (DeflaterOutputStream out = new DeflaterOutputStream(deflated)) {
+                    out.write(data);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                data = deflated.toByteArray();
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            body.writeBytes(("<< " + dictionary + " /Length " + data.length + (compressed ? " /Filter /FlateDecode" : "")
+                + " >>\nstream\n").getBytes(StandardCharsets.ISO_8859_1));
+            body.writeBytes(data);
+            body.writeBytes("\nendstream".getBytes(StandardCharsets.ISO_8859_1));
+            objects.add(body.toByteArray());
+            return objects.size();
+        }
+
+        public byte[] build(int root) {
+            ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+            pdf.writeBytes("%PDF-1.5\n".getBytes(StandardCharsets.ISO_8859_1));
+            List<Integer> offsets = new ArrayList<>();
+            for (int i = 0; i < objects.size(); i++) {
+                offsets.add(pdf.size());
+                pdf.writeBytes(((i + 1) + " 0 obj\n").getBytes(StandardCharsets.ISO_8859_1));
+                pdf.writeBytes(objects.get(i));
+                pdf.writeBytes("\nendobj\n".getBytes(StandardCharsets.ISO_8859_1));
+            }
+            int xref = pdf.size();
+            StringBuilder trailer = new StringBuilder("xref\n0 " + (objects.size() + 1) + "\n0000000000 65535 f \n");
+            for (int offset : offsets) {
+                trailer.append(String.format("%010d 00000 n \n", offset));
+            }
+            trailer.append("trailer\n<< /Size ").append(objects.size() + 1).append(" /Root ").append(root)
+                .append(" 0 R >>\nstartxref\n").append(xref).append("\n%%EOF\n");
+            pdf.writeBytes(trailer.toString().getBytes(StandardCharsets.ISO_8859_1));
+            return pdf.toByteArray();
+        }
+    }
+
+    public static String read(String resource) throws IOException {
+        try (InputStream in = Fixtures.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Missing fixture " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
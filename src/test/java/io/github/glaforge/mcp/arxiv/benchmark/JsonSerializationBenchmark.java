@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.benchmark;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import io.github.glaforge.mcp.arxiv.service.AtomFeedParser;
+import io.github.glaforge.mcp.arxiv.service.EntryProjection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a single {@link Entry}, as done by the metadata
+ * resource, and of whole feeds as returned by the search tools, with and
+ * without a field projection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "100", "2000"})
+    public int entries;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final EntryProjection projection = EntryProjection.of(List.of("id", "title", "summary"), 300);
+
+    private Feed feed;
+    private Entry entry;
+
+    @Setup
+    public void setup() throws IOException {
+        feed = new AtomFeedParser().parse(new ByteArrayInputStream(Fixtures.feed(entries)));
+        // The first fixture entry has every optional field filled in
+        entry = feed.entries.get(0);
+    }
+
+    @Benchmark
+    public String entryToString() throws JsonProcessingException {
+        return jsonMapper.writeValueAsString(entry);
+    }
+
+    @Benchmark
+    public byte[] feedToBytes() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(feed);
+    }
+
+    @Benchmark
+    public byte[] projectedFeedToBytes() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(projection.apply(feed));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.benchmark;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Link;
+import io.github.glaforge.mcp.arxiv.service.AtomFeedParser;
+import io.github.glaforge.mcp.arxiv.service.PaperCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap footprint and lookup time of the metadata cache filled with 100k papers,
+ * holding entries as objects, as compact byte arrays, and as compact byte arrays
+ * with deflated summaries. The retained heap per paper is printed once the
+ * cache is filled; lookups include decoding the entry back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PaperCacheBenchmark {
+
+    private static final int PAPERS = 100_000;
+
+    @Param({"objects", "compact", "compressed"})
+    public String storage;
+
+    private PaperCache cache;
+    private String[] ids;
+
+    @Setup
+    public void setup() throws IOException {
+        List<Entry> recorded = new AtomFeedParser().parse(new ByteArrayInputStream(Fixtures.feed(3))).entries;
+        ObjectMapper jsonMapper = new ObjectMapper();
+        byte[][] templates = new byte[recorded.size()][];
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = jsonMapper.writeValueAsBytes(recorded.get(i));
+        }
+
+        long before = usedHeap();
+        cache = new PaperCache(PAPERS, 0, Duration.ofHours(6), Duration.ofDays(1), Duration.ofMinutes(10),
+            !storage.equals("objects"), storage.equals("compressed"));
+        for (int i = 0; i < PAPERS; i++) {
+            // Each paper gets strings of its own, as when parsed from separate responses
+            Entry entry = jsonMapper.readValue(templates[i % templates.length], Entry.class);
+            String id = String.format("2699.%05dv1", i);
+            entry.id = "http://arxiv.org/abs/" + id;
+            for (Link link : entry.links) {
+                if (link.href.startsWith("http://arxiv.org/")) {
+                    link.href = link.href.substring(0, link.href.indexOf('/', 17) + 1) + id;
+                }
+            }
+            cache.put(entry, true);
+        }
+        long after = usedHeap();
+        System.out.printf("%n%s: %d bytes of heap per paper%n", storage, (after - before) / PAPERS);
+
+        ids = new String[PAPERS];
+        for (int i = 0; i < PAPERS; i++) {
+            ids[i] = String.format("2699.%05dv1", i);
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public Entry lookup() {
+        return cache.get(ids[ThreadLocalRandom.current().nextInt(PAPERS)]);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.benchmark;
+
+import io.github.glaforge.mcp.arxiv.index.PaperIndex;
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to find the 10 papers most similar to one of 100k in the local index.
+ * Synthetic abstracts mix the words of one of 1000 topics with words common to
+ * all papers, so that each paper has a few hundred related ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SimilarPapersBenchmark {
+
+    private static final int PAPERS = 100_000;
+    private static final int TOPICS = 1000;
+
+    private PaperIndex index;
+    private Entry[] papers;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index = new PaperIndex();
+        papers = new Entry[PAPERS];
+        List<Entry> batch = new ArrayList<>();
+        for (int i = 0; i < PAPERS; i++) {
+            int topic = random.nextInt(TOPICS);
+            StringBuilder summary = new StringBuilder();
+            for (int w = 0; w < 100; w++) {
+                // Half topic words, half words from a shared vocabulary skewed towards a few frequent ones
+                summary.append(w % 2 == 0
+                    ? "topic" + topic + "x" + random.nextInt(150)
+                    : "common" + (int) (Math.pow(random.nextDouble(), 3) * 20_000)).append(' ');
+            }
+            Entry entry = new Entry();
+            entry.id = String.format("http://arxiv.org/abs/2699.%05dv1", i);
+            entry.title = "Paper " + i + " on topic" + topic;
+            entry.summary = summary.toString();
+            papers[i] = entry;
+            batch.add(entry);
+            if (batch.size() == 1000) {
+                index.addAll(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @Benchmark
+    public List<PaperIndex.Hit> similar() {
+        return index.similar(papers[ThreadLocalRandom.current().nextInt(PAPERS)], 10);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.index;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import io.github.glaforge.mcp.arxiv.service.AtomFeedParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HarvesterTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Serves pages of a growing catalogue as Atom XML, like the arXiv API would.
+     */
+    private static class StubArxiv implements Harvester.PageSource {
+        int catalogueSize;
+        int failAtStart = -1;
+        int failMidwayAtStart = -1;
+        final List<Integer> requestedOffsets = new ArrayList<>();
+
+        StubArxiv(int catalogueSize) {
+            this.catalogueSize = catalogueSize;
+        }
+
+        @Override
+        public Feed fetch(String query, int start, int maxResults, Consumer<Entry> consumer) {
+            requestedOffsets.add(start);
+            if (start == failAtStart) {
+                throw new RuntimeException("ArXiv API error: 503");
+            }
+            if (start == failMidwayAtStart) {
+                // Like ArxivService.harvestPage, which fetches a page again whole when it fails midway
+                failMidwayAtStart = -1;
+                try {
+                    page(query, start, maxResults, entry -> {
+                        consumer.accept(entry);
+                        if (entry.id.endsWith("5v1")) {
+                            throw new RuntimeException("Connection reset");
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    // Retried below
+                }
+            }
+            return page(query, start, maxResults, consumer);
+        }
+
+        private Feed page(String query, int start, int maxResults, Consumer<Entry> consumer) {
+            StringBuilder xml = new StringBuilder("<feed xmlns=\"http://www.w3.org/2005/Atom\"><title>" + query + "</title>");
+            for (int i = start; i < Math.min(catalogueSize, start + maxResults); i++) {
+                xml.append("<entry><id>http://arxiv.org/abs/2601.")
+                    .append(String.format("%05d", i))
+                    .append("v1</id><title>Paper ").append(i).append("</title></entry>");
+            }
+            xml.append("</feed>");
+            try {
+                return new AtomFeedParser().parse(new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8)), consumer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Test
+    public void testPagesUntilShortPage() {
+        StubArxiv arxiv = new StubArxiv(25);
+        List<Entry> stored = new ArrayList<>();
+        Harvester harvester = new Harvester(arxiv, stored::addAll, () -> { }, directory.resolve("harvest.properties"), 10, 1000, 1);
+
+        assertEquals(25, harvester.harvest("cat:cs.AI"));
+        assertEquals(List.of(0, 10, 20), arxiv.requestedOffsets);
+        assertEquals(25, stored.size());
+        assertEquals("http://arxiv.org/abs/2601.00024v1", stored.get(24).id);
+        assertEquals(25, harvester.offset("cat:cs.AI"));
+        assertEquals(0, harvester.offset("cat:cs.LG"));
+    }
+
+    @Test
+    public void testResumesFromCheckpointAfterRestart() {
+        Path checkpoint = directory.resolve("harvest.properties");
+        StubArxiv arxiv = new StubArxiv(25);
+        new Harvester(arxiv, page -> { }, () -> { }, checkpoint, 10, 1000, 1).harvest("cat:cs.AI");
+
+        arxiv.catalogueSize = 32;
+        arxiv.requestedOffsets.clear();
+        List<Entry> stored = new ArrayList<>();
+        Harvester restarted = new Harvester(arxiv, stored::addAll, () -> { }, checkpoint, 10, 1000, 1);
+
+        assertEquals(7, restarted.harvest("cat:cs.AI"));
+        assertEquals(List.of(25), arxiv.requestedOffsets);
+        assertEquals("http://arxiv.org/abs/2601.00025v1", stored.get(0).id);
+        assertEquals(32, restarted.offset("cat:cs.AI"));
+    }
+
+    @Test
+    public void testFailureKeepsProgressOfCompletedPages() {
+        Path checkpoint = directory.resolve("harvest.properties");
+        StubArxiv arxiv = new StubArxiv(100);
+        arxiv.failAtStart = 30;
+        AtomicInteger flushes = new AtomicInteger();
+        Harvester harvester = new Harvester(arxiv, page -> { }, flushes::incrementAndGet, checkpoint, 10, 1000, 2);
+
+        assertThrows(RuntimeException.class, () -> harvester.harvest("cat:cs.AI"));
+        assertEquals(30, harvester.offset("cat:cs.AI"));
+        assertEquals(2, flushes.get());
+
+        arxiv.failAtStart = -1;
+        arxiv.requestedOffsets.clear();
+        assertEquals(70, new Harvester(arxiv, page -> { }, () -> { }, checkpoint, 10, 1000, 2).harvest("cat:cs.AI"));
+        assertEquals(30, arxiv.requestedOffsets.get(0));
+    }
+
+    @Test
+    public void testPageRetriedMidwayIsCountedOnce() {
+        StubArxiv arxiv = new StubArxiv(25);
+        arxiv.failMidwayAtStart = 10;
+        List<Entry> stored = new ArrayList<>();
+        Harvester harvester = new Harvester(arxiv, stored::addAll, () -> { }, directory.resolve("harvest.properties"), 10, 1000, 1);
+
+        assertEquals(25, harvester.harvest("cat:cs.AI"));
+        assertEquals(List.of(0, 10, 20), arxiv.requestedOffsets);
+        assertEquals(25, stored.stream().map(entry -> entry.id).distinct().count());
+        assertEquals(25, stored.size());
+        assertEquals(25, harvester.offset("cat:cs.AI"));
+    }
+
+    @Test
+    public void testFailedFlushDoesNotMoveCheckpoint() {
+        Path checkpoint = directory.resolve("harvest.properties");
+        StubArxiv arxiv = new StubArxiv(25);
+        Harvester harvester = new Harvester(arxiv, page -> { }, () -> {
+            throw new UncheckedIOException(new IOException("No space left on device"));
+        }, checkpoint, 10, 1000, 1);
+
+        assertThrows(UncheckedIOException.class, () -> harvester.harvest("cat:cs.AI"));
+        assertEquals(0, harvester.offset("cat:cs.AI"));
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    public void testStopsAtMaxPerRun() {
+        StubArxiv arxiv = new StubArxiv(100);
+        Harvester harvester = new Harvester(arxiv, page -> { }, () -> { }, directory.resolve("harvest.properties"), 10, 25, 1);
+
+        assertEquals(25, harvester.harvest("cat:cs.AI"));
+        assertEquals(List.of(0, 10, 20), arxiv.requestedOffsets);
+        assertEquals(25, harvester.offset("cat:cs.AI"));
+        assertEquals(3, harvester.pageCount());
+    }
+}
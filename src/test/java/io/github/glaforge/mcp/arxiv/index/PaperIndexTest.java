@@ -0,0 +1,231 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.index;
+
+import io.github.glaforge.mcp.arxiv.model.Author;
+import io.github.glaforge.mcp.arxiv.model.Category;
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import io.github.glaforge.mcp.arxiv.service.AtomFeedParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PaperIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private static Entry entry(String id, String title, String summary, String author, String category) {
+        Entry entry = new Entry();
+        entry.id = "http://arxiv.org/abs/" + id;
+        entry.title = title;
+        entry.summary = summary;
+        Author a = new Author();
+        a.name = author;
+        entry.authors = List.of(a);
+        Category c = new Category();
+        c.term = category;
+        entry.categories = List.of(c);
+        return entry;
+    }
+
+    private static PaperIndex sampleIndex() {
+        PaperIndex index = new PaperIndex();
+        index.addAll(List.of(
+            entry("2601.00001v1", "Attention is all you need", "Transformers replace recurrence with attention.",
+                "Ashish Vaswani", "cs.CL"),
+            entry("2601.00002v1", "Graph neural networks", "Message passing over graphs, with some attention.",
+                "Thomas Kipf", "cs.LG"),
+            entry("2601.00003v1", "Superconductivity in thin films", "Measurements of critical temperature.",
+                "Jane Doe", "cond-mat.supr-con")));
+        return index;
+    }
+
+    private static List<String> ids(List<PaperIndex.Hit> hits) {
+        return hits.stream().map(hit -> hit.entry().id.substring("http://arxiv.org/abs/".length())).toList();
+    }
+
+    @Test
+    public void testRanksTitleMatchesFirst() {
+        PaperIndex index = sampleIndex();
+
+        assertEquals(List.of("2601.00001v1", "2601.00002v1"), ids(index.search("attention", 10)));
+        assertEquals(List.of("2601.00001v1"), ids(index.search("attention", 1)));
+        assertTrue(index.search("quantum gravity", 10).isEmpty());
+    }
+
+    @Test
+    public void testArxivQuerySyntax() {
+        PaperIndex index = sampleIndex();
+
+        assertEquals(List.of("2601.00002v1"), ids(index.search("au:kipf", 10)));
+        assertEquals(List.of("2601.00003v1"), ids(index.search("cat:cond-mat.supr-con", 10)));
+        assertEquals(List.of("2601.00001v1", "2601.00002v1"), ids(index.search("ti:attention AND cat:cs.CL", 10)));
+    }
+
+    @Test
+    public void testNewerVersionReplacesOlder() {
+        PaperIndex index = sampleIndex();
+        assertEquals(0, index.addAll(List.of(entry("2601.00003v1", "Superconductivity in thin films", "",
+            "Jane Doe", "cond-mat.supr-con"))));
+
+        index.addAll(List.of(entry("2601.00003v2", "Superfluidity in thin films", "Revised.",
+            "Jane Doe", "cond-mat.supr-con")));
+
+        assertEquals(3, index.size());
+        assertTrue(index.search("superconductivity", 10).isEmpty());
+        assertEquals(List.of("2601.00003v2"), ids(index.search("superfluidity", 10)));
+        assertNotNull(index.get("2601.00003"));
+        assertNull(index.get("2601.00003v1"));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        PaperIndex index = sampleIndex();
+        index.addAll(List.of(entry("2601.00003v2", "Superfluidity in thin films", "Revised.",
+            "Jane Doe", "cond-mat.supr-con")));
+        assertTrue(index.isDirty());
+
+        Path file = directory.resolve("index.bin");
+        index.save(file);
+        assertFalse(index.isDirty());
+
+        PaperIndex loaded = PaperIndex.load(file);
+        assertEquals(3, loaded.size());
+        assertEquals(ids(index.search("attention films", 10)), ids(loaded.search("attention films", 10)));
+        assertEquals(index.search("attention", 10).get(0).score(), loaded.search("attention", 10).get(0).score(), 1e-9);
+        assertEquals("Superfluidity in thin films", loaded.get("2601.00003v2").title);
+        Entry attention = index.get("2601.00001v1");
+        assertEquals(ids(index.similar(attention, 10)), ids(loaded.similar(attention, 10)));
+    }
+
+    @Test
+    public void testTruncatedOrCorruptFileFailsToLoad() throws Exception {
+        Path file = directory.resolve("index.bin");
+        sampleIndex().save(file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path broken = directory.resolve("broken.bin");
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(broken, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> PaperIndex.load(broken));
+        }
+        // Document count, right after the magic number and the version
+        for (int count : new int[] {-1, Integer.MAX_VALUE}) {
+            ByteBuffer.wrap(bytes).putInt(8, count);
+            Files.write(broken, bytes);
+            assertThrows(IOException.class, () -> PaperIndex.load(broken));
+        }
+    }
+
+    @Test
+    public void testConcurrentSavesLeaveAValidFile() throws Exception {
+        PaperIndex index = sampleIndex();
+        for (int i = 0; i < 2000; i++) {
+            index.addAll(List.of(entry(String.format("2602.%05dv1", i), "Paper " + i, "Summary of paper " + i,
+                "Author " + i, "cs.LG")));
+        }
+        Path file = directory.resolve("index.bin");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> saves = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                saves.add(executor.submit(() -> {
+                    index.save(file);
+                    return null;
+                }));
+            }
+            for (Future<?> save : saves) {
+                save.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2003, PaperIndex.load(file).size());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    public void testFindsSimilarPapers() {
+        PaperIndex index = new PaperIndex();
+        Random random = new Random(42);
+        List<Entry> entries = new ArrayList<>();
+        // Enough unrelated papers for the buckets to be resized a few times
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder summary = new StringBuilder();
+            for (int w = 0; w < 60; w++) {
+                summary.append("word").append(random.nextInt(20_000)).append(' ');
+            }
+            entries.add(entry(String.format("2699.%05dv1", i), "Paper " + i, summary.toString(), "Jane Doe", "cs.LG"));
+        }
+        String summary = "We propose a message passing graph neural network that predicts molecular properties "
+            + "from atom and bond features, trained on quantum chemistry datasets with equivariant layers.";
+        entries.add(entry("2601.00010v1", "Equivariant graph networks for molecules", summary, "Jane Doe", "cs.LG"));
+        entries.add(entry("2601.00011v1", "Equivariant message passing for molecules",
+            summary.replace("quantum chemistry", "large molecular"), "John Doe", "physics.chem-ph"));
+        index.addAll(entries);
+
+        List<PaperIndex.Hit> similar = index.similar(index.get("2601.00010"), 3);
+
+        assertEquals("2601.00011v1", ids(similar).get(0));
+        assertTrue(similar.get(0).score() > 0.5, "Similarity of " + similar.get(0).score());
+        assertFalse(ids(similar).contains("2601.00010v1"));
+
+        // Papers not indexed are compared through their words
+        Entry unknown = entry("2601.00012v1", "Graph networks for molecules", summary, "Jane Doe", "cs.LG");
+        assertEquals(List.of("2601.00010v1", "2601.00011v1"), ids(index.similar(unknown, 2)));
+    }
+
+    @Test
+    public void testIndexesParsedFeed() throws Exception {
+        Feed feed;
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/query-3-entries.xml")) {
+            feed = new AtomFeedParser().parse(in);
+        }
+        PaperIndex index = new PaperIndex();
+        assertEquals(3, index.addAll(feed.entries));
+
+        Entry first = feed.entries.get(0);
+        List<PaperIndex.Hit> hits = index.search(first.title, 3);
+        assertEquals(first.id, hits.get(0).entry().id);
+        assertEquals(first.summary, hits.get(0).entry().summary);
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Drives an MCP server over the Streamable HTTP transport with many concurrent
+ * clients, each with a session of its own, and reports throughput and latency
+ * percentiles per tool.
+ * <p>
+ * Every client initializes a session, then calls tools picked from the mix as
+ * fast as it can until the duration has elapsed. A call counts as an error
+ * when the HTTP status, the JSON-RPC response or the tool result says so, or
+ * when no response arrives within the request timeout.
+ */
+public class McpLoadDriver {
+
+    /**
+     * A tool call, with arguments that may differ on every call.
+     */
+    public record Call(String tool, Supplier<Map<String, Object>> arguments) {
+    }
+
+    /**
+     * Latency figures of one tool, in milliseconds.
+     */
+    public record Stats(String tool, int count, int errors, double throughput,
+                        double p50, double p99, double p999, double max) {
+
+        @Override
+        public String toString() {
+            return String.format("%-22s %8d %7d %10.1f %9.2f %9.2f %9.2f %9.2f",
+                tool, count, errors, throughput, p50, p99, p999, max);
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final URI endpoint;
+    private final int clients;
+    private final Duration duration;
+    private final List<Call> mix;
+    private final Duration requestTimeout;
+    private final HttpClient http = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+    public McpLoadDriver(URI endpoint, int clients, Duration duration, Duration requestTimeout, List<Call> mix) {
+        this.endpoint = endpoint;
+        this.clients = clients;
+        this.duration = duration;
+        this.requestTimeout = requestTimeout;
+        this.mix = mix;
+    }
+
+    /**
+     * Runs the load and returns the statistics of each tool, in alphabetical order.
+     */
+    public List<Stats> run() throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long started = System.nanoTime();
+        List<Future<Map<String, Samples>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                results.add(executor.submit(() -> client(deadline)));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        Map<String, Samples> merged = new TreeMap<>();
+        for (Future<Map<String, Samples>> result : results) {
+            result.get().forEach((tool, samples) -> merged.computeIfAbsent(tool, t -> new Samples()).addAll(samples));
+        }
+        List<Stats> stats = new ArrayList<>();
+        merged.forEach((tool, samples) -> stats.add(samples.stats(tool, elapsedSeconds)));
+        return stats;
+    }
+
+    private Map<String, Samples> client(long deadline) throws InterruptedException {
+        AtomicLong requestIds = new AtomicLong();
+        Map<String, Samples> samples = new HashMap<>();
+        long initStart = System.nanoTime();
+        String session;
+        try {
+            session = initialize(requestIds);
+        } catch (IOException e) {
+            // An overloaded server may not even accept new sessions
+            samples.computeIfAbsent("initialize", t -> new Samples()).add(System.nanoTime() - initStart, false);
+            return samples;
+        }
+        int next = ThreadLocalRandom.current().nextInt(mix.size());
+        while (System.nanoTime() < deadline) {
+            Call call = mix.get(next++ % mix.size());
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("name", call.tool());
+            params.put("arguments", call.arguments().get());
+
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                JsonNode response = send(session, request(requestIds, "tools/call", params));
+                ok = response != null && !response.has("error")
+                    && !response.path("result").path("isError").asBoolean(false);
+            } catch (IOException e) {
+                ok = false;
+            }
+            samples.computeIfAbsent(call.tool(), t -> new Samples()).add(System.nanoTime() - start, ok);
+        }
+        return samples;
+    }
+
+    private String initialize(AtomicLong requestIds) throws IOException, InterruptedException {
+        Map<String, Object> params = Map.of(
+            "protocolVersion", "2025-03-26",
+            "capabilities", Map.of(),
+            "clientInfo", Map.of("name", "mcp-load-driver", "version", "1.0"));
+        HttpResponse<String> response = post(null, request(requestIds, "initialize", params));
+        if (response.statusCode() != 200) {
+            throw new IOException("MCP initialization failed with status " + response.statusCode() + ": " + response.body());
+        }
+        String session = response.headers().firstValue("Mcp-Session-Id")
+            .orElseThrow(() -> new IOException("No MCP session ID returned by " + endpoint));
+        post(session, Map.of("jsonrpc", "2.0", "method", "notifications/initialized"));
+        return session;
+    }
+
+    private static Map<String, Object> request(AtomicLong requestIds, String method, Object params) {
+        return Map.of("jsonrpc", "2.0", "id", requestIds.incrementAndGet(), "method", method, "params", params);
+    }
+
+    private JsonNode send(String session, Map<String, Object> message) throws IOException, InterruptedException {
+        HttpResponse<String> response = post(session, message);
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        String body = response.body();
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        if (!contentType.startsWith("text/event-stream")) {
+            return MAPPER.readTree(body);
+        }
+        // The response is the last JSON-RPC message of the event stream
+        JsonNode last = null;
+        for (String line : body.split("\n")) {
+            if (line.startsWith("data:")) {
+                JsonNode node = MAPPER.readTree(line.substring("data:".length()).trim());
+                if (node.has("id")) {
+                    last = node;
+                }
+            }
+        }
+        return last;
+    }
+
+    private HttpResponse<String> post(String session, Object message) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+            .timeout(requestTimeout)
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json, text/event-stream")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(message)));
+        if (session != null) {
+            request.header("Mcp-Session-Id", session);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Latencies of one tool as seen by one client, merged after the run.
+     */
+    private static class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        void add(long latency, boolean ok) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.nanos[i], true);
+            }
+            errors += other.errors;
+        }
+
+        Stats stats(String tool, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new Stats(tool, count, errors, count / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, rank)] / 1e6;
+        }
+    }
+
+    /**
+     * The default mix: searches, which all go to arXiv, lookups of random papers
+     * of the stub corpus, which are batched and cached, and local index searches.
+     */
+    public static List<Call> defaultMix(int papers) {
+        Supplier<Map<String, Object>> randomPaper = () -> Map.of("ids",
+            List.of(String.format("2699.%05d", ThreadLocalRandom.current().nextInt(papers))));
+        return List.of(
+            new Call("search_papers", () -> Map.of("query", "all:learning", "maxResults", 10,
+                "sortBy", "relevance", "sortOrder", "descending", "start", 10 * ThreadLocalRandom.current().nextInt(10))),
+            new Call("get_paper_details", randomPaper),
+            new Call("get_paper_details", randomPaper),
+            new Call("search_local_papers", () -> Map.of("query", "latent dynamics", "maxResults", 10)));
+    }
+
+    public static String header() {
+        return String.format("%-22s %8s %7s %10s %9s %9s %9s %9s",
+            "tool", "calls", "errors", "calls/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+    }
+
+    /**
+     * Runs the default mix against a running server. Settings are read from
+     * system properties: {@code load.url} (http://localhost:8080/mcp),
+     * {@code load.clients} (32, or a comma-separated list of client counts run
+     * one after the other to find the capacity of the server), {@code load.duration}
+     * (PT30S per client count), {@code load.timeout} (PT30S per request) and
+     * {@code load.papers} (10000, the number of synthetic papers of the stub).
+     */
+    public static void main(String[] args) throws Exception {
+        URI url = URI.create(System.getProperty("load.url", "http://localhost:8080/mcp"));
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+        Duration timeout = Duration.parse(System.getProperty("load.timeout", "PT30S"));
+        int papers = Integer.getInteger("load.papers", 10_000);
+
+        for (String clients : System.getProperty("load.clients", "32").split(",")) {
+            System.out.println();
+            System.out.println("Running " + clients.trim() + " clients against " + url + " for " + duration);
+            List<Stats> stats = new McpLoadDriver(url, Integer.parseInt(clients.trim()), duration, timeout, defaultMix(papers)).run();
+            System.out.println(header());
+            stats.forEach(System.out::println);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.loadtest;
+
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@WithTestResource(StubArxivResource.class)
+public class McpLoadDriverTest {
+
+    @TestHTTPResource("/mcp")
+    URI endpoint;
+
+    StubArxivServer stub;
+
+    @Test
+    public void testDrivesEveryToolOfTheMix() throws Exception {
+        long apiRequestsBefore = stub.apiRequestCount();
+
+        List<McpLoadDriver.Stats> stats = new McpLoadDriver(endpoint, 4, Duration.ofSeconds(2), Duration.ofSeconds(30),
+            McpLoadDriver.defaultMix(100)).run();
+
+        System.out.println(McpLoadDriver.header());
+        stats.forEach(System.out::println);
+        assertEquals(List.of("get_paper_details", "search_local_papers", "search_papers"),
+            stats.stream().map(McpLoadDriver.Stats::tool).toList());
+        for (McpLoadDriver.Stats tool : stats) {
+            assertTrue(tool.count() > 0, tool.tool());
+            assertEquals(0, tool.errors(), tool.tool());
+            assertTrue(tool.p50() <= tool.p99() && tool.p99() <= tool.p999() && tool.p999() <= tool.max());
+        }
+        assertTrue(stub.apiRequestCount() > apiRequestsBefore);
+    }
+}
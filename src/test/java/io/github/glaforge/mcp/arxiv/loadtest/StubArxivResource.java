@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.loadtest;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Starts a {@link StubArxivServer} for the duration of the Quarkus tests and
+ * points the REST clients to it, so that tests never reach the real arXiv.
+ * <p>
+ * Every {@code @QuarkusTest} uses this same resource, which lets them share a
+ * single application instance. Local state such as the index and the PDF cache
+ * goes to a fresh directory, so runs don't see each other's papers.
+ */
+public class StubArxivResource implements QuarkusTestResourceLifecycleManager {
+
+    private StubArxivServer stub;
+
+    @Override
+    public Map<String, String> start() {
+        try {
+            stub = new StubArxivServer(0, 100, 64 * 1024);
+            Path state = Files.createTempDirectory("arxiv-mcp-test");
+            return Map.ofEntries(
+                Map.entry("quarkus.rest-client.arxiv-api.url", stub.apiUrl()),
+                Map.entry("quarkus.rest-client.arxiv-pdf.url", stub.pdfUrl()),
+                // No need to be polite to a local server
+                Map.entry("arxiv.rate-limit.period", "PT0.001S"),
+                // Short enough for tests to go through timeouts, retries, hedges and an open circuit
+                Map.entry("quarkus.rest-client.arxiv-api.read-timeout", "1000"),
+                Map.entry("arxiv.retry.initial-backoff", "PT0.01S"),
+                Map.entry("arxiv.retry.max-backoff", "PT0.05S"),
+                Map.entry("arxiv.circuit-breaker.open-duration", "PT0.5S"),
+                Map.entry("arxiv.api.hedge-delay", "PT0.2S"),
+                Map.entry("arxiv.index.file", state.resolve("index.bin").toString()),
+                Map.entry("arxiv.cache.snapshot.file", state.resolve("cache.bin").toString()),
+                Map.entry("arxiv.pdf-cache.directory", state.resolve("pdf").toString()),
+                Map.entry("arxiv.pdf-text-cache.directory", state.resolve("text").toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void inject(TestInjector testInjector) {
+        testInjector.injectIntoFields(stub, new TestInjector.MatchesType(StubArxivServer.class));
+    }
+
+    @Override
+    public void stop() {
+        if (stub != null) {
+            stub.close();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.loadtest;
+
+import io.github.glaforge.mcp.arxiv.benchmark.Fixtures;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A local stand-in for the arXiv export API and PDF server, replaying the
+ * recorded Atom fixture so that tests and load tests run offline and give
+ * reproducible numbers.
+ * <p>
+ * The corpus is made of the recorded entries plus any number of synthetic
+ * copies with IDs of their own. {@code /api/query} answers {@code id_list}
+ * lookups and pages through the whole corpus for any {@code search_query};
+ * {@code /pdf/{id}} returns a text PDF, or the requested byte range of it. Every response can be delayed
+ * and a share of them can fail with a 503, like arXiv does under load, and
+ * tests can inject faults into the next few requests.
+ */
+public class StubArxivServer implements AutoCloseable {
+
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final String OPENSEARCH_NS = "http://a9.com/-/spec/opensearch/1.1/";
+    private static final Pattern ENTRY_ID = Pattern.compile("<id>http://arxiv\\.org/abs/([^<]+?)(v\\d+)?</id>");
+    private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+    private static final Pattern REQUESTED_ID = Pattern.compile("(.+?)(v\\d+)?");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, String> entries = new LinkedHashMap<>();
+    private final List<String> corpus;
+    private final byte[] pdf;
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration jitter = Duration.ZERO;
+    private volatile double errorRate;
+    private volatile boolean rangeRequests = true;
+    private volatile Duration injectedDelay = Duration.ZERO;
+    private final AtomicInteger delayedRequests = new AtomicInteger();
+    private final AtomicInteger failedRequests = new AtomicInteger();
+
+    private final AtomicLong apiRequestCount = new AtomicLong();
+    private final AtomicLong pdfRequestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+
+    /**
+     * @param port the port to listen to, or 0 for any free port
+     * @param syntheticEntries number of generated entries added to the recorded ones
+     * @param pdfSize size in bytes of the PDFs served
+     */
+    public StubArxivServer(int port, int syntheticEntries, int pdfSize) throws IOException {
+        String xml = Fixtures.read("/fixtures/query-3-entries.xml");
+        int firstEntry = xml.indexOf("<entry>");
+        int afterLastEntry = xml.lastIndexOf("</entry>") + "</entry>".length();
+        String[] recorded = xml.substring(firstEntry, afterLastEntry).split("(?<=</entry>)");
+        for (String entry : recorded) {
+            add(entry.strip());
+        }
+        for (int i = 0; i < syntheticEntries; i++) {
+            String template = recorded[i % recorded.length].strip();
+            String id = String.format("2699.%05d", i);
+            add(ENTRY_ID.matcher(template).replaceFirst("<id>http://arxiv.org/abs/" + id + "v1</id>")
+                .replaceAll("arxiv\\.org/(abs|pdf)/[^\"<]+\"", "arxiv.org/$1/" + id + "v1\""));
+        }
+        this.corpus = new ArrayList<>(entries.values());
+        this.pdf = Fixtures.pdf(pdfSize);
+
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/query", this::query);
+        server.createContext("/pdf/", this::pdf);
+        server.start();
+    }
+
+    private void add(String entry) {
+        Matcher matcher = ENTRY_ID.matcher(entry);
+        if (matcher.find()) {
+            entries.put(matcher.group(1), entry);
+        }
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Base URL to use for the {@code arxiv-api} REST client.
+     */
+    public String apiUrl() {
+        return "http://localhost:" + port() + "/api";
+    }
+
+    /**
+     * Base URL to use for the {@code arxiv-pdf} REST client.
+     */
+    public String pdfUrl() {
+        return "http://localhost:" + port();
+    }
+
+    public int corpusSize() {
+        return corpus.size();
+    }
+
+    /**
+     * Delays every response by {@code latency} plus a uniformly random share of {@code jitter}.
+     */
+    public StubArxivServer latency(Duration latency, Duration jitter) {
+        this.latency = latency;
+        this.jitter = jitter;
+        return this;
+    }
+
+    /**
+     * Makes the given share of requests, between 0 and 1, fail with a 503.
+     */
+    public StubArxivServer errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Whether the PDF server answers range requests, or ignores them and sends the whole file.
+     */
+    public StubArxivServer rangeRequests(boolean supported) {
+        this.rangeRequests = supported;
+        return this;
+    }
+
+    public byte[] pdf() {
+        return pdf.clone();
+    }
+
+    /**
+     * Makes the next {@code requests} requests, API or PDF, fail with a 503.
+     * A count of 0 cancels the failures still pending.
+     */
+    public StubArxivServer failNext(int requests) {
+        failedRequests.set(requests);
+        return this;
+    }
+
+    /**
+     * Delays the next {@code requests} requests, API or PDF, by {@code delay}
+     * on top of the configured latency.
+     */
+    public StubArxivServer delayNext(int requests, Duration delay) {
+        injectedDelay = delay;
+        delayedRequests.set(requests);
+        return this;
+    }
+
+    public long apiRequestCount() {
+        return apiRequestCount.get();
+    }
+
+    public long pdfRequestCount() {
+        return pdfRequestCount.get();
+    }
+
+    public long errorCount() {
+        return errorCount.get();
+    }
+
+    private void query(HttpExchange exchange) throws IOException {
+        apiRequestCount.incrementAndGet();
+        if (!delay(exchange)) {
+            return;
+        }
+        Map<String, String> params = parameters(exchange.getRequestURI());
+        List<String> page = new ArrayList<>();
+        int start = 0;
+        int total;
+        String idList = params.getOrDefault("id_list", "");
+        if (!idList.isBlank()) {
+            for (String id : idList.split(",")) {
+                Matcher versioned = REQUESTED_ID.matcher(id.trim());
+                if (!versioned.matches()) {
+                    continue;
+                }
+                String entry = entries.get(versioned.group(1));
+                if (entry != null) {
+                    // Answer with the version that was asked for, as arXiv does
+                    page.add(versioned.group(2) == null ? entry : ENTRY_ID.matcher(entry)
+                        .replaceFirst("<id>http://arxiv.org/abs/" + versioned.group(1) + versioned.group(2) + "</id>"));
+                }
+            }
+            total = page.size();
+        } else {
+            start = Integer.parseInt(params.getOrDefault("start", "0"));
+            int maxResults = Integer.parseInt(params.getOrDefault("max_results", "10"));
+            total = corpus.size();
+            page.addAll(corpus.subList(Math.min(start, total), Math.min(start + maxResults, total)));
+        }
+
+        StringBuilder xml = new StringBuilder()
+            .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<feed xmlns=\"").append(ATOM_NS).append("\" xmlns:opensearch=\"").append(OPENSEARCH_NS).append("\">\n")
+            .append("  <title type=\"html\">ArXiv Query: stub</title>\n")
+            .append("  <id>http://arxiv.org/api/stub</id>\n")
+            .append("  <updated>2026-01-09T00:00:00-05:00</updated>\n")
+            .append("  <opensearch:totalResults>").append(total).append("</opensearch:totalResults>\n")
+            .append("  <opensearch:startIndex>").append(start).append("</opensearch:startIndex>\n")
+            .append("  <opensearch:itemsPerPage>").append(page.size()).append("</opensearch:itemsPerPage>\n");
+        for (String entry : page) {
+            xml.append("  ").append(entry).append('\n');
+        }
+        xml.append("</feed>\n");
+        send(exchange, 200, "application/atom+xml; charset=utf-8", xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void pdf(HttpExchange exchange) throws IOException {
+        pdfRequestCount.incrementAndGet();
+        if (!delay(exchange)) {
+            return;
+        }
+        String id = exchange.getRequestURI().getPath().substring("/pdf/".length());
+        if (!entries.containsKey(id.replaceFirst("v\\d+$", ""))) {
+            send(exchange, 404, "text/plain", ("No PDF for " + id).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        Matcher range = BYTE_RANGE.matcher(String.valueOf(exchange.getRequestHeaders().getFirst("Range")));
+        if (rangeRequests && range.matches()) {
+            long first = Long.parseLong(range.group(1));
+            long last = range.group(2).isEmpty() ? pdf.length - 1 : Math.min(Long.parseLong(range.group(2)), pdf.length - 1);
+            if (first >= pdf.length) {
+                exchange.getResponseHeaders().set("Content-Range", "bytes */" + pdf.length);
+                send(exchange, 416, "text/plain", "Range Not Satisfiable".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + first + "-" + last + "/" + pdf.length);
+            send(exchange, 206, "application/pdf", Arrays.copyOfRange(pdf, (int) first, (int) last + 1));
+            return;
+        }
+        send(exchange, 200, "application/pdf", pdf);
+    }
+
+    /**
+     * Waits for the configured latency, then fails the request if it was
+     * picked for error injection. Returns whether the request should be served.
+     */
+    private boolean delay(HttpExchange exchange) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayNanos = latency.toNanos() + (jitter.isZero() ? 0 : random.nextLong(jitter.toNanos()));
+        if (takeOne(delayedRequests)) {
+            delayNanos += injectedDelay.toNanos();
+        }
+        if (delayNanos > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(delayNanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (takeOne(failedRequests) || (errorRate > 0 && random.nextDouble() < errorRate)) {
+            errorCount.incrementAndGet();
+            send(exchange, 503, "text/plain", "Service Unavailable".getBytes(StandardCharsets.UTF_8));
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean takeOne(AtomicInteger remaining) {
+        return remaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parameters(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the stub until the process is stopped. Settings are read from system
+     * properties: {@code stub.port} (8089), {@code stub.entries} (10000 synthetic
+     * entries), {@code stub.pdf-size} (1 MB), {@code stub.latency} and
+     * {@code stub.jitter} (ISO-8601 durations, PT0S) and {@code stub.error-rate} (0).
+     */
+    public static void main(String[] args) throws Exception {
+        StubArxivServer stub = new StubArxivServer(
+            Integer.getInteger("stub.port", 8089),
+            Integer.getInteger("stub.entries", 10_000),
+            Integer.getInteger("stub.pdf-size", 1024 * 1024))
+            .latency(Duration.parse(System.getProperty("stub.latency", "PT0S")),
+                Duration.parse(System.getProperty("stub.jitter", "PT0S")))
+            .errorRate(Double.parseDouble(System.getProperty("stub.error-rate", "0")));
+        System.out.println("Stub arXiv server with " + stub.corpusSize() + " papers listening on port " + stub.port());
+        System.out.println("  -Dquarkus.rest-client.arxiv-api.url=" + stub.apiUrl());
+        System.out.println("  -Dquarkus.rest-client.arxiv-pdf.url=" + stub.pdfUrl());
+        Thread.currentThread().join();
+    }
+}
@@ -15,8 +15,10 @@
  */
 package io.github.glaforge.mcp.arxiv.mcp;
 
+import io.github.glaforge.mcp.arxiv.loadtest.StubArxivResource;
 import io.quarkiverse.mcp.server.PromptMessage;
 import io.quarkiverse.mcp.server.TextResourceContents;
+import io.quarkus.test.common.WithTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
+@WithTestResource(StubArxivResource.class)
 public class ArxivExtraFeaturesTest {
 
     @Inject
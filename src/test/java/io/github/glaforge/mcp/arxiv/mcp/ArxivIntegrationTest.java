@@ -15,30 +15,60 @@
  */
 package io.github.glaforge.mcp.arxiv.mcp;
 
+import io.github.glaforge.mcp.arxiv.loadtest.StubArxivResource;
+import io.github.glaforge.mcp.arxiv.loadtest.StubArxivServer;
+import io.github.glaforge.mcp.arxiv.service.ArxivIds;
+import io.quarkus.test.common.WithTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 import io.github.glaforge.mcp.arxiv.model.Feed;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @QuarkusTest
+@WithTestResource(StubArxivResource.class)
 public class ArxivIntegrationTest {
 
     @Inject
     ArxivMcpServer server;
 
+    StubArxivServer stub;
+
     @Test
     public void testGetPaperDetails() {
         List<String> ids = Collections.singletonList("2601.05230");
-        Feed feed = server.getPaperDetails(ids);
+        Feed feed = server.getPaperDetails(ids, null, 0).await().indefinitely();
         assertNotNull(feed);
         assertNotNull(feed.entries);
         assertFalse(feed.entries.isEmpty());
         System.out.println("Title: " + feed.entries.get(0).title);
     }
+
+    @Test
+    public void testGetPaperDetailsInChunks() {
+        // Versions no other test asks for, in reverse order, and one unknown paper
+        List<String> ids = new ArrayList<>();
+        for (int i = 99; i >= 0; i--) {
+            ids.add(String.format("2699.%05dv7", i));
+        }
+        ids.add(50, "2699.99999v7");
+        long requests = stub.apiRequestCount();
+
+        Feed feed = server.getPaperDetails(ids, null, 0).await().indefinitely();
+
+        // 101 IDs in queries of at most 50
+        assertEquals(requests + 3, stub.apiRequestCount());
+        List<String> expected = new ArrayList<>(ids);
+        expected.remove("2699.99999v7");
+        assertEquals(expected, feed.entries.stream().map(ArxivIds::fromEntry).toList());
+        assertNull(feed.unavailableIds);
+    }
 }
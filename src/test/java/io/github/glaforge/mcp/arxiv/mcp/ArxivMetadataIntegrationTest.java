@@ -15,6 +15,8 @@
  */
 package io.github.glaforge.mcp.arxiv.mcp;
 
+import io.github.glaforge.mcp.arxiv.loadtest.StubArxivResource;
+import io.quarkus.test.common.WithTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkiverse.mcp.server.TextResourceContents;
 import jakarta.inject.Inject;
@@ -24,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
+@WithTestResource(StubArxivResource.class)
 public class ArxivMetadataIntegrationTest {
 
     @Inject
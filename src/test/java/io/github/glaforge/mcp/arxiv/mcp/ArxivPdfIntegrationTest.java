@@ -15,21 +15,41 @@
  */
 package io.github.glaforge.mcp.arxiv.mcp;
 
+import io.github.glaforge.mcp.arxiv.benchmark.Fixtures;
+import io.github.glaforge.mcp.arxiv.loadtest.StubArxivResource;
+import io.github.glaforge.mcp.arxiv.loadtest.StubArxivServer;
+import io.github.glaforge.mcp.arxiv.service.PdfTextExtractor;
+import io.github.glaforge.mcp.arxiv.service.PdfTextService;
+import io.quarkus.test.common.WithTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkiverse.mcp.server.BlobResourceContents;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
+@WithTestResource(StubArxivResource.class)
 public class ArxivPdfIntegrationTest {
 
     @Inject
     ArxivMcpServer server;
 
+    @Inject
+    PdfTextService textService;
+
+    StubArxivServer stub;
+
     @Test
     public void testGetPdf() {
         String id = "2601.00844v1"; // ID from user report
@@ -42,4 +62,63 @@ public class ArxivPdfIntegrationTest {
         assertTrue(contents.blob().length() > 0);
         System.out.println("PDF Blob length: " + contents.blob().length());
     }
+
+    @Test
+    public void testGetPaperText() {
+        String id = "2601.00844v1";
+        String text = server.getText(id).text();
+
+        assertTrue(text.startsWith("--- Page 1 of 3 ---\nImpact of Electron-Electron Cusp"), text);
+        assertTrue(text.contains("--- Page 3 of 3 ---\n3. Results\nThe cusp’s effect"), text);
+
+        long hits = textService.textCache().hitCount();
+        String pages = server.getPaperText(id, 2, 2, 0);
+        assertEquals("--- Page 2 of 3 ---\n" + Fixtures.PDF_PAGES.get(1), pages);
+        assertEquals(hits + 1, textService.textCache().hitCount());
+
+        assertEquals(31, server.getPaperText(id, 1, 0, 30).length());
+    }
+
+    @Test
+    public void testGetPdfPages() throws Exception {
+        BlobResourceContents contents = server.getPdfPages("2601.00844v1", "2-");
+
+        assertEquals("arxiv://papers/2601.00844v1/pdf/pages/2-", contents.uri());
+        List<String> pages = new ArrayList<>();
+        PdfTextExtractor.extract(ByteBuffer.wrap(Base64.getDecoder().decode(contents.blob())), (page, text) -> pages.add(text));
+        assertEquals(List.of(Fixtures.PDF_PAGES.get(1), Fixtures.PDF_PAGES.get(2)), pages);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> server.getPdfPages("2601.00844v1", "5"));
+        assertEquals("Paper 2601.00844v1 only has 3 pages", e.getMessage());
+    }
+
+    @Test
+    public void testGetPdfBytes() {
+        byte[] pdf = stub.pdf();
+
+        // Not cached yet: only the range is requested from arXiv
+        String id = "2699.00042v1";
+        assertArrayEquals(Arrays.copyOfRange(pdf, 0, 1024), bytes(id, "0-1023"));
+        assertArrayEquals(Arrays.copyOfRange(pdf, pdf.length - 100, pdf.length), bytes(id, (pdf.length - 100) + "-"));
+        RuntimeException e = assertThrows(RuntimeException.class, () -> bytes(id, pdf.length + "-"));
+        assertTrue(e.getMessage().startsWith("Byte range starts past the end"), e.getMessage());
+
+        // A server ignoring ranges sends the whole file, which is skipped to the range
+        stub.rangeRequests(false);
+        try {
+            assertArrayEquals(Arrays.copyOfRange(pdf, 1000, 3000), bytes("2699.00043v1", "1000-2999"));
+        } finally {
+            stub.rangeRequests(true);
+        }
+
+        // Cached: read from the disk
+        server.getPdf(id);
+        long requests = stub.pdfRequestCount();
+        assertArrayEquals(Arrays.copyOfRange(pdf, 10, 11), bytes(id, "10"));
+        assertEquals(requests, stub.pdfRequestCount());
+    }
+
+    private byte[] bytes(String id, String range) {
+        return Base64.getDecoder().decode(server.getPdfBytes(id, range).blob());
+    }
 }
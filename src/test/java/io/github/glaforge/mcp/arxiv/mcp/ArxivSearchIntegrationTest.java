@@ -15,6 +15,8 @@
  */
 package io.github.glaforge.mcp.arxiv.mcp;
 
+import io.github.glaforge.mcp.arxiv.loadtest.StubArxivResource;
+import io.quarkus.test.common.WithTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,7 @@ import io.github.glaforge.mcp.arxiv.model.SortOrder;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @QuarkusTest
+@WithTestResource(StubArxivResource.class)
 public class ArxivSearchIntegrationTest {
 
     @Inject
@@ -38,7 +41,7 @@ public class ArxivSearchIntegrationTest {
         SortBy sortBy = null;
         SortOrder sortOrder = null;
 
-        Feed feed = server.searchPapers(query, maxResults, sortBy, sortOrder);
+        Feed feed = server.searchPapers(query, maxResults, sortBy, sortOrder, 0, null, null, 0).await().indefinitely();
 
         assertNotNull(feed);
         System.out.println("Found " + feed.entries.size() + " entries");
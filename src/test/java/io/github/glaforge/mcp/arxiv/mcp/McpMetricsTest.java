@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.mcp;
+
+import io.github.glaforge.mcp.arxiv.loadtest.StubArxivResource;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@WithTestResource(StubArxivResource.class)
+public class McpMetricsTest {
+
+    @Inject
+    ArxivMcpServer server;
+
+    @Inject
+    MeterRegistry registry;
+
+    @TestHTTPResource("/q/metrics")
+    URL metricsUrl;
+
+    private long count(String kind, String name, String outcome) {
+        return registry.find("mcp.server.requests")
+            .tags("kind", kind, "name", name, "outcome", outcome)
+            .timers().stream()
+            .mapToLong(Timer::count)
+            .sum();
+    }
+
+    @Test
+    public void testRecordsSuccessfulAndFailedCalls() throws Exception {
+        // Other tests share the application, so only compare against the counts before this one
+        long taxonomyBefore = count("resource", "arxiv://taxonomy", "success");
+        long failedBefore = count("tool", "get_paper_details", "error");
+        long detailsBefore = count("tool", "get_paper_details", "success");
+
+        server.getTaxonomy();
+        server.getTaxonomy();
+        assertThrows(RuntimeException.class, () -> server.getPaperDetails(List.of("2601.05230"), List.of("bogus"), 0));
+        Uni<Feed> details = server.getPaperDetails(List.of("2601.05230"), null, 0);
+        // Non-blocking tools are timed until their result is available
+        assertEquals(detailsBefore, count("tool", "get_paper_details", "success"));
+        details.await().indefinitely();
+
+        assertEquals(taxonomyBefore + 2, count("resource", "arxiv://taxonomy", "success"));
+        assertEquals(failedBefore + 1, count("tool", "get_paper_details", "error"));
+        assertEquals(detailsBefore + 1, count("tool", "get_paper_details", "success"));
+
+        String scrape;
+        try (InputStream in = metricsUrl.openStream()) {
+            scrape = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(scrape.contains("mcp_server_requests_seconds_bucket"));
+        assertTrue(scrape.contains("arxiv_ratelimit_queue"));
+        assertTrue(scrape.contains("arxiv_ratelimit_wait_seconds_bucket"));
+        assertTrue(scrape.contains("arxiv_cache_requests_total"));
+    }
+
+    @Test
+    public void testRecordsCancelledCalls() {
+        long cancelledBefore = count("tool", "get_paper_details", "cancelled");
+        long successBefore = count("tool", "get_paper_details", "success");
+
+        // A version no other test asks for, so that it is not cached and still in flight when cancelled
+        Cancellable call = server.getPaperDetails(List.of("2699.00042v5"), null, 0).subscribe().with(feed -> { }, failure -> { });
+        call.cancel();
+
+        assertEquals(cancelledBefore + 1, count("tool", "get_paper_details", "cancelled"));
+        assertEquals(successBefore, count("tool", "get_paper_details", "success"));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.mcp;
+
+import io.github.glaforge.mcp.arxiv.loadtest.StubArxivResource;
+import io.github.glaforge.mcp.arxiv.loadtest.StubArxivServer;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import io.github.glaforge.mcp.arxiv.service.ArxivIds;
+import io.github.glaforge.mcp.arxiv.service.ArxivService;
+import io.github.glaforge.mcp.arxiv.service.UpstreamPolicy;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the tools against a stub that fails or stalls on purpose. The test
+ * resource shortens timeouts, backoffs and the open period of the circuit
+ * breaker, and enables hedging after 200 ms.
+ */
+@QuarkusTest
+@WithTestResource(StubArxivResource.class)
+public class UpstreamFaultToleranceTest {
+
+    @Inject
+    ArxivMcpServer server;
+
+    @Inject
+    ArxivService arxivService;
+
+    StubArxivServer stub;
+
+    @AfterEach
+    public void healStub() throws InterruptedException {
+        stub.failNext(0).delayNext(0, Duration.ZERO);
+        // Leave the circuit closed for the other tests sharing the application
+        while (arxivService.upstreamPolicy().circuitBreaker().isOpen()) {
+            Thread.sleep(50);
+        }
+        search();
+    }
+
+    // Versions no other test asks for, so that they are never cached beforehand
+    private static final String SLOW_PAPER = "2699.00071v5";
+    private static final String CACHED_PAPER = "2699.00072v5";
+    private static final String UNCACHED_PAPER = "2699.00073v5";
+    private static final String PARTIAL_CACHED_PAPER = "2699.00074v5";
+    private static final String PARTIAL_UNCACHED_PAPER = "2699.00075v5";
+
+    private Feed search() {
+        return server.searchPapers("all:faults " + System.nanoTime(), 5, null, null, 0, null, null, 0)
+            .await().atMost(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void testRetriesServerErrors() {
+        UpstreamPolicy policy = arxivService.upstreamPolicy();
+        long retries = policy.retryCount();
+        long errors = stub.errorCount();
+
+        stub.failNext(2);
+        assertFalse(search().entries.isEmpty());
+        assertEquals(errors + 2, stub.errorCount());
+        assertEquals(retries + 2, policy.retryCount());
+    }
+
+    @Test
+    public void testRetriesTimedOutRequests() {
+        long retries = arxivService.upstreamPolicy().retryCount();
+        long requests = stub.apiRequestCount();
+
+        // Longer than the read timeout of the test resource
+        stub.delayNext(1, Duration.ofSeconds(3));
+        assertFalse(search().entries.isEmpty());
+        assertEquals(retries + 1, arxivService.upstreamPolicy().retryCount());
+        assertEquals(requests + 2, stub.apiRequestCount());
+    }
+
+    @Test
+    public void testHedgesSlowLookups() {
+        long wins = arxivService.upstreamPolicy().hedgeWinCount();
+
+        stub.delayNext(1, Duration.ofMillis(900));
+        long start = System.nanoTime();
+        Feed feed = server.getPaperDetails(List.of(SLOW_PAPER), null, 0).await().atMost(Duration.ofSeconds(10));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(1, feed.entries.size());
+        assertEquals(wins + 1, arxivService.upstreamPolicy().hedgeWinCount());
+        assertTrue(elapsedMillis < 900, "Answered after " + elapsedMillis + " ms");
+    }
+
+    @Test
+    public void testReturnsPartialLookupsWhenArxivFails() {
+        server.getPaperDetails(List.of(PARTIAL_CACHED_PAPER), null, 0).await().atMost(Duration.ofSeconds(10));
+
+        stub.failNext(Integer.MAX_VALUE);
+        Feed feed = server.getPaperDetails(List.of(PARTIAL_UNCACHED_PAPER, PARTIAL_CACHED_PAPER), null, 0)
+            .await().atMost(Duration.ofSeconds(10));
+
+        assertEquals(1, feed.entries.size());
+        assertEquals(PARTIAL_CACHED_PAPER, ArxivIds.fromEntry(feed.entries.get(0)));
+        assertEquals(List.of(PARTIAL_UNCACHED_PAPER), feed.unavailableIds);
+        // With nothing to return, the lookup fails
+        assertThrows(RuntimeException.class, () -> server.getPaperDetails(List.of(PARTIAL_UNCACHED_PAPER), null, 0)
+            .await().atMost(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    public void testCircuitOpensAndServesCachedPapers() throws InterruptedException {
+        server.getPaperDetails(List.of(CACHED_PAPER), null, 0).await().atMost(Duration.ofSeconds(10));
+
+        // Every attempt fails until the breaker opens
+        stub.failNext(Integer.MAX_VALUE);
+        while (!arxivService.upstreamPolicy().circuitBreaker().isOpen()) {
+            assertThrows(RuntimeException.class, this::search);
+        }
+
+        long requests = stub.apiRequestCount();
+        RuntimeException e = assertThrows(RuntimeException.class, this::search);
+        assertTrue(e.getMessage().startsWith("arXiv API is unavailable"), e.getMessage());
+        Feed feed = server.getPaperDetails(List.of(CACHED_PAPER, UNCACHED_PAPER), null, 0)
+            .await().atMost(Duration.ofSeconds(10));
+        assertEquals(1, feed.entries.size());
+        assertEquals(List.of(UNCACHED_PAPER), feed.unavailableIds);
+        assertEquals(requests, stub.apiRequestCount());
+
+        // Once the open period is over, a successful call closes the circuit again
+        stub.failNext(0);
+        Thread.sleep(600);
+        assertFalse(search().entries.isEmpty());
+        assertFalse(arxivService.upstreamPolicy().circuitBreaker().isOpen());
+    }
+}
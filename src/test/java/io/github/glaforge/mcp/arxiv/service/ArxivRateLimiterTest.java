@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ArxivRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testReservationsAreSpacedByPeriod() {
+        AtomicLong now = new AtomicLong();
+        ArxivRateLimiter limiter = new ArxivRateLimiter(Duration.ofSeconds(3), 1, 10, Duration.ofMinutes(1), now::get);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(3 * SECOND, limiter.reserve());
+        assertEquals(6 * SECOND, limiter.reserve());
+
+        now.set(3 * SECOND);
+        assertEquals(6 * SECOND, limiter.reserve());
+    }
+
+    @Test
+    public void testIdleBucketRefillsUpToBurst() {
+        AtomicLong now = new AtomicLong();
+        ArxivRateLimiter limiter = new ArxivRateLimiter(Duration.ofSeconds(3), 2, 10, Duration.ofMinutes(1), now::get);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(3 * SECOND, limiter.reserve());
+
+        now.set(60 * SECOND);
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(3 * SECOND, limiter.reserve());
+    }
+
+    @Test
+    public void testRejectsWhenWaitExceedsTimeout() {
+        AtomicLong now = new AtomicLong();
+        ArxivRateLimiter limiter = new ArxivRateLimiter(Duration.ofSeconds(3), 1, 10, Duration.ofSeconds(5), now::get);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(3 * SECOND, limiter.reserve());
+        assertEquals(-1, limiter.reserve());
+
+        // A rejected caller does not consume a slot
+        now.set(3 * SECOND);
+        assertEquals(3 * SECOND, limiter.reserve());
+    }
+
+    @Test
+    public void testAcquireRecordsWaitAndRejections() {
+        AtomicLong now = new AtomicLong();
+        ArxivRateLimiter limiter = new ArxivRateLimiter(Duration.ofMillis(20), 1, 10, Duration.ofMillis(30), now::get);
+        List<Long> waits = new CopyOnWriteArrayList<>();
+        limiter.onWait(waits::add);
+
+        limiter.acquire();
+        limiter.acquire();
+        assertThrows(RuntimeException.class, limiter::acquire);
+
+        assertEquals(2, limiter.acquiredCount());
+        assertEquals(1, limiter.rejectedCount());
+        assertEquals(List.of(0L, Duration.ofMillis(20).toNanos()), waits);
+        assertEquals(0, limiter.queueDepth());
+    }
+
+    @Test
+    public void testAcquireAsyncWaitsWithoutBlockingAndRejects() {
+        AtomicLong now = new AtomicLong();
+        ArxivRateLimiter limiter = new ArxivRateLimiter(Duration.ofMillis(20), 1, 10, Duration.ofMillis(30), now::get);
+        List<Long> waits = new CopyOnWriteArrayList<>();
+        limiter.onWait(waits::add);
+
+        limiter.acquireAsync().await().atMost(Duration.ofSeconds(5));
+        Uni<Void> second = limiter.acquireAsync();
+        assertEquals(0, limiter.queueDepth());
+        second.await().atMost(Duration.ofSeconds(5));
+        assertThrows(RuntimeException.class, () -> limiter.acquireAsync().await().atMost(Duration.ofSeconds(5)));
+
+        assertEquals(2, limiter.acquiredCount());
+        assertEquals(1, limiter.rejectedCount());
+        assertEquals(List.of(0L, Duration.ofMillis(20).toNanos()), waits);
+        assertEquals(0, limiter.queueDepth());
+    }
+
+    @Test
+    public void testCancelledAsyncCallerLeavesQueueOnce() throws InterruptedException {
+        ArxivRateLimiter limiter = new ArxivRateLimiter(Duration.ofMillis(1), 1, 10, Duration.ofSeconds(5), System::nanoTime);
+
+        Cancellable call = limiter.acquireAsync()
+            .chain(() -> Uni.createFrom().nothing())
+            .subscribe().with(ignored -> { });
+        while (limiter.acquiredCount() == 0) {
+            Thread.sleep(1);
+        }
+        call.cancel();
+        assertEquals(0, limiter.queueDepth());
+    }
+}
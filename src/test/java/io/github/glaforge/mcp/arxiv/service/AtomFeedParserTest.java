@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AtomFeedParserTest {
+
+    private static byte[] fixture() throws IOException {
+        try (InputStream in = AtomFeedParserTest.class.getResourceAsStream("/fixtures/query-3-entries.xml")) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    public void testParsesAllEntryFields() throws Exception {
+        Feed feed = new AtomFeedParser().parse(new ByteArrayInputStream(fixture()));
+
+        assertEquals("http://arxiv.org/api/cHxbiOdZaP56ODnBPIenZhzg5f8", feed.id);
+        assertEquals(1, feed.links.size());
+        assertEquals(214783, feed.totalResults);
+        assertEquals(0, feed.startIndex);
+        assertEquals(3, feed.itemsPerPage);
+        assertEquals(3, feed.entries.size());
+
+        Entry entry = feed.entries.get(0);
+        assertEquals("http://arxiv.org/abs/cond-mat/0102536v1", entry.id);
+        assertEquals(3, entry.authors.size());
+        assertEquals("NMRC, University College, Cork, Ireland", entry.authors.get(1).affiliation);
+        assertNull(entry.authors.get(2).affiliation);
+        assertEquals(3, entry.links.size());
+        assertEquals("cond-mat.str-el", entry.primaryCategory.term);
+        assertEquals("10.1063/1.1383585", entry.doi);
+        assertEquals("J. Chem. Phys. 115, 1626 (2001)", entry.journalRef);
+    }
+
+    @Test
+    public void testMatchesJacksonBinding() throws Exception {
+        byte[] xml = fixture();
+        Feed streamed = new AtomFeedParser().parse(new ByteArrayInputStream(xml));
+        Feed bound = new XmlMapper().readValue(xml, Feed.class);
+
+        // Jackson keeps only the last run of <link> elements when other elements are
+        // interleaved, so the DOI link of the first entry is lost by the binding
+        assertEquals(3, streamed.entries.get(0).links.size());
+        assertEquals(2, bound.entries.get(0).links.size());
+        streamed.entries.get(0).links.remove(0);
+
+        ObjectMapper json = new ObjectMapper();
+        assertEquals(json.writeValueAsString(bound.entries), json.writeValueAsString(streamed.entries));
+        assertEquals(bound.totalResults, streamed.totalResults);
+        assertEquals(bound.startIndex, streamed.startIndex);
+    }
+
+    @Test
+    public void testStreamsEntriesToConsumer() throws Exception {
+        List<String> ids = new ArrayList<>();
+        Feed feed = new AtomFeedParser().parse(new ByteArrayInputStream(fixture()), entry -> ids.add(entry.id));
+
+        assertNull(feed.entries);
+        assertEquals(List.of(
+            "http://arxiv.org/abs/cond-mat/0102536v1",
+            "http://arxiv.org/abs/2601.05230v1",
+            "http://arxiv.org/abs/2601.00844v2"), ids);
+    }
+
+    @Test
+    public void testMalformedFeedIsReported() {
+        byte[] xml = "<feed xmlns=\"http://www.w3.org/2005/Atom\"><entry><id>x</id>".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> new AtomFeedParser().parse(new ByteArrayInputStream(xml)));
+    }
+}
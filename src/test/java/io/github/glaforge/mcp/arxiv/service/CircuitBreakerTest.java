@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CircuitBreakerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void testOpensAfterConsecutiveFailuresAndRecovers() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker("arXiv API", 3, Duration.ofSeconds(30), now::get);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        breaker.acquirePermission();
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        RuntimeException e = assertThrows(RuntimeException.class, breaker::acquirePermission);
+        assertEquals("arXiv API is unavailable after repeated failures, try again in 30 s", e.getMessage());
+        assertEquals(1, breaker.rejectedCount());
+
+        // After the open period, one more failure opens the breaker right away
+        now.set(30 * SECOND);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.acquirePermission();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(2, breaker.openedCount());
+
+        // And a success closes it
+        now.set(60 * SECOND);
+        breaker.acquirePermission();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testThresholdOfZeroNeverOpens() {
+        CircuitBreaker breaker = new CircuitBreaker("arXiv API", 0, Duration.ofSeconds(30), () -> 0);
+        for (int i = 0; i < 100; i++) {
+            breaker.onFailure();
+        }
+        breaker.acquirePermission();
+        assertEquals(0, breaker.openedCount());
+    }
+}
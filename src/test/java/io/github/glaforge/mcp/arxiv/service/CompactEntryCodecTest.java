@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactEntryCodecTest {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    private Feed fixture() throws Exception {
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/query-3-entries.xml")) {
+            return new AtomFeedParser().parse(in);
+        }
+    }
+
+    @Test
+    public void testRoundTripsRecordedEntries() throws Exception {
+        for (boolean compress : new boolean[] {false, true}) {
+            CompactEntryCodec codec = new CompactEntryCodec(compress);
+            for (Entry entry : fixture().entries) {
+                byte[] encoded = codec.encode(entry);
+                assertEquals(jsonMapper.writeValueAsString(entry), jsonMapper.writeValueAsString(codec.decode(encoded)));
+                assertTrue(encoded.length < jsonMapper.writeValueAsBytes(entry).length);
+            }
+        }
+    }
+
+    @Test
+    public void testInternsRepeatedValues() throws Exception {
+        CompactEntryCodec codec = new CompactEntryCodec(false);
+        Entry entry = fixture().entries.get(1);
+        int first = codec.encode(entry).length;
+        int words = codec.vocabularySize();
+        assertEquals(first, codec.encode(entry).length);
+        assertEquals(words, codec.vocabularySize());
+        // http://arxiv.org/abs/, http://arxiv.org/pdf/, alternate, related, pdf, text/html, application/pdf,
+        // cs.RO, cs.LG and the Atom scheme
+        assertEquals(10, words);
+    }
+
+    @Test
+    public void testCompressesLongSummariesAndKeepsNulls() {
+        Entry entry = new Entry();
+        entry.id = "2601.00844v1";
+        entry.summary = "We study large language models. ".repeat(40) + "Ünïcödé.";
+        CompactEntryCodec plain = new CompactEntryCodec(false);
+        CompactEntryCodec compressed = new CompactEntryCodec(true);
+        assertTrue(compressed.encode(entry).length < plain.encode(entry).length / 4);
+
+        Entry decoded = compressed.decode(compressed.encode(entry));
+        assertEquals(entry.summary, decoded.summary);
+        assertEquals("2601.00844v1", decoded.id);
+        assertNull(decoded.title);
+        assertNull(decoded.authors);
+        assertNull(decoded.primaryCategory);
+    }
+}
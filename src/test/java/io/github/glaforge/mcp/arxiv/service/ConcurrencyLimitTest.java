@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrencyLimitTest {
+
+    @Test
+    public void testCapsCallsFromManyVirtualThreads() throws Exception {
+        ConcurrencyLimit limit = new ConcurrencyLimit("test calls", 3, Duration.ofSeconds(10));
+        AtomicInteger inProgress = new AtomicInteger();
+        AtomicInteger maxInProgress = new AtomicInteger();
+
+        List<Future<?>> calls = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                calls.add(executor.submit(() -> {
+                    limit.acquire("call");
+                    try {
+                        maxInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+                        Thread.sleep(1);
+                        inProgress.decrementAndGet();
+                    } finally {
+                        limit.release();
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> call : calls) {
+            call.get();
+        }
+        assertTrue(maxInProgress.get() <= 3);
+        assertEquals(0, limit.inProgress());
+    }
+
+    @Test
+    public void testFailsWhenNoSlotFreesUpInTime() throws Exception {
+        ConcurrencyLimit limit = new ConcurrencyLimit("PDF downloads", 1, Duration.ofMillis(50));
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            limit.acquire("first");
+            held.countDown();
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                limit.release();
+            }
+        });
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> limit.acquire("2601.05230"));
+        assertEquals("Too many concurrent PDF downloads, try again later: 2601.05230", e.getMessage());
+        assertEquals(1, limit.inProgress());
+
+        done.countDown();
+        holder.join();
+        limit.acquire("again");
+        limit.release();
+    }
+
+    @Test
+    public void testAsyncCallersAreHandedReleasedSlots() {
+        ConcurrencyLimit limit = new ConcurrencyLimit("test calls", 1, Duration.ofSeconds(5));
+        limit.acquire("first");
+
+        CompletableFuture<Void> second = limit.acquireAsync("second").subscribeAsCompletionStage();
+        assertFalse(second.isDone());
+        assertEquals(1, limit.waiting());
+
+        limit.release();
+        assertTrue(second.isDone());
+        assertEquals(1, limit.inProgress());
+        assertEquals(0, limit.waiting());
+        limit.release();
+        assertEquals(0, limit.inProgress());
+    }
+
+    @Test
+    public void testBlockedAndAsyncCallersShareOneQueue() throws Exception {
+        ConcurrencyLimit limit = new ConcurrencyLimit("test calls", 1, Duration.ofSeconds(5));
+        limit.acquire("first");
+
+        CountDownLatch blockedHolds = new CountDownLatch(1);
+        Thread blocked = Thread.ofVirtual().start(() -> {
+            limit.acquire("blocked");
+            blockedHolds.countDown();
+        });
+        while (limit.waiting() < 1) {
+            Thread.sleep(1);
+        }
+        CompletableFuture<Void> async = limit.acquireAsync("async").subscribeAsCompletionStage();
+        assertEquals(2, limit.waiting());
+
+        // The blocked thread arrived first, so it gets the slot even though an async caller waits too
+        limit.release();
+        assertTrue(blockedHolds.await(5, TimeUnit.SECONDS));
+        blocked.join();
+        assertFalse(async.isDone());
+
+        limit.release();
+        assertTrue(async.isDone());
+        limit.release();
+        assertEquals(0, limit.inProgress());
+        assertEquals(0, limit.waiting());
+    }
+
+    @Test
+    public void testAsyncCallersTimeOut() {
+        ConcurrencyLimit limit = new ConcurrencyLimit("arXiv API requests", 1, Duration.ofMillis(50));
+        limit.acquireAsync("first").await().indefinitely();
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> limit.acquireAsync("2601.05230").await().atMost(Duration.ofSeconds(5)));
+        assertEquals("Too many concurrent arXiv API requests, try again later: 2601.05230", e.getMessage());
+        assertEquals(0, limit.waiting());
+
+        // The slot goes back to the semaphore once no one waits for it
+        limit.release();
+        assertEquals(0, limit.inProgress());
+    }
+
+    @Test
+    public void testRunAsyncReleasesOnceWhenCancelled() {
+        ConcurrencyLimit limit = new ConcurrencyLimit("test calls", 1, Duration.ofSeconds(5));
+        limit.acquire("first");
+
+        Cancellable call = limit.runAsync("second", () -> Uni.createFrom().nothing())
+            .chain(() -> Uni.createFrom().nothing())
+            .subscribe().with(ignored -> { });
+        limit.release();
+        assertEquals(1, limit.inProgress());
+
+        call.cancel();
+        assertEquals(0, limit.inProgress());
+        assertEquals(0, limit.waiting());
+    }
+}
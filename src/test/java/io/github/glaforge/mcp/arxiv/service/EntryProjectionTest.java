@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EntryProjectionTest {
+
+    private static Feed fixture() throws Exception {
+        try (InputStream in = EntryProjectionTest.class.getResourceAsStream("/fixtures/query-3-entries.xml")) {
+            return new AtomFeedParser().parse(in);
+        }
+    }
+
+    @Test
+    public void testDefaultsKeepTheFeedAsIs() throws Exception {
+        Feed feed = fixture();
+        assertSame(feed, EntryProjection.of(null, 0).apply(feed));
+        assertSame(feed, EntryProjection.of(List.of(), -1).apply(feed));
+    }
+
+    @Test
+    public void testProjectsSelectedFieldsOnCopies() throws Exception {
+        Feed feed = fixture();
+        Feed projected = EntryProjection.of(List.of("Title", "summary"), 100).apply(feed);
+
+        Entry entry = projected.entries.get(0);
+        assertEquals(feed.entries.get(0).id, entry.id);
+        assertEquals(feed.entries.get(0).title, entry.title);
+        assertTrue(entry.summary.length() <= 100);
+        assertTrue(entry.summary.endsWith("…"));
+        assertNull(entry.authors);
+        assertNull(entry.doi);
+        assertNull(projected.links);
+        assertEquals(feed.totalResults, projected.totalResults);
+
+        // The original, possibly cached, entries are untouched
+        assertNotNull(feed.entries.get(0).authors);
+        assertTrue(feed.entries.get(0).summary.length() > 100);
+
+        String json = new ObjectMapper().writeValueAsString(projected.entries.get(0));
+        assertTrue(!json.contains("authors") && !json.contains("null"));
+    }
+
+    @Test
+    public void testTruncatesAtWordBoundary() {
+        EntryProjection projection = EntryProjection.of(null, 20);
+
+        assertEquals("Short abstract.", projection.truncate("  Short\n  abstract. "));
+        assertEquals("The effect of the…", projection.truncate("The effect of the electron-electron cusp"));
+        assertEquals("Supercalifragilisti…", projection.truncate("Supercalifragilisticexpialidocious"));
+    }
+
+    @Test
+    public void testRejectsUnknownFields() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> EntryProjection.of(List.of("abstract"), 0));
+        assertTrue(e.getMessage().contains("summary"));
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class IdBatcherTest {
+
+    private static Entry entry(String id) {
+        Entry entry = new Entry();
+        entry.id = "http://arxiv.org/abs/" + id;
+        entry.summary = "Summary of " + id;
+        return entry;
+    }
+
+    private static Feed feed(List<String> ids) {
+        Feed feed = new Feed();
+        feed.entries = new ArrayList<>();
+        for (String id : ids) {
+            if (!id.startsWith("9999")) {
+                feed.entries.add(entry(id.contains("v") ? id : id + "v2"));
+            }
+        }
+        return feed;
+    }
+
+    @Test
+    public void testConcurrentLookupsShareOneQuery() throws Exception {
+        List<List<String>> queries = new CopyOnWriteArrayList<>();
+        IdBatcher batcher = new IdBatcher(Duration.ofMillis(200), 50, ids -> {
+            queries.add(ids);
+            return feed(ids);
+        });
+
+        List<String> ids = List.of("2601.00001", "2601.00002v1", "2601.00003", "9999.00004");
+        ExecutorService executor = Executors.newFixedThreadPool(ids.size());
+        try {
+            List<Future<Entry>> futures = new ArrayList<>();
+            for (String id : ids) {
+                futures.add(executor.submit(() -> batcher.lookup(id)));
+            }
+            assertEquals("http://arxiv.org/abs/2601.00001v2", futures.get(0).get(5, TimeUnit.SECONDS).id);
+            assertEquals("http://arxiv.org/abs/2601.00002v1", futures.get(1).get(5, TimeUnit.SECONDS).id);
+            assertEquals("http://arxiv.org/abs/2601.00003v2", futures.get(2).get(5, TimeUnit.SECONDS).id);
+            assertNull(futures.get(3).get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, queries.size());
+        assertEquals(4, queries.get(0).size());
+        assertEquals(1, batcher.batchCount());
+    }
+
+    @Test
+    public void testFullBatchIsSentWithoutWaitingForWindow() throws Exception {
+        List<List<String>> queries = new CopyOnWriteArrayList<>();
+        IdBatcher batcher = new IdBatcher(Duration.ofMinutes(1), 2, ids -> {
+            queries.add(ids);
+            return feed(ids);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Entry> first = executor.submit(() -> batcher.lookup("2601.00001"));
+            Future<Entry> second = executor.submit(() -> batcher.lookup("2601.00002"));
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    public void testLoneRejectedLookupIsNotFound() {
+        List<List<String>> queries = new ArrayList<>();
+        IdBatcher batcher = new IdBatcher(Duration.ZERO, 50, ids -> {
+            queries.add(ids);
+            Feed feed = new Feed();
+            feed.entries = new ArrayList<>();
+            Entry error = new Entry();
+            error.id = "http://arxiv.org/api/errors#incorrect_id_format_for_bogus";
+            error.summary = "incorrect id format for bogus";
+            feed.entries.add(error);
+            return feed;
+        });
+
+        assertNull(batcher.lookup("bogus"));
+        assertEquals(1, queries.size());
+    }
+
+    private static Feed rejecting(List<String> ids, String rejected) {
+        if (!ids.contains(rejected)) {
+            return feed(ids);
+        }
+        Feed feed = new Feed();
+        Entry error = new Entry();
+        error.id = "http://arxiv.org/api/errors#incorrect_id_format_for_" + rejected;
+        error.summary = "incorrect id format for " + rejected;
+        feed.entries = new ArrayList<>(List.of(error));
+        return feed;
+    }
+
+    private static List<Entry> lookupAll(IdBatcher batcher, List<String> ids) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(ids.size());
+        try {
+            List<Future<Entry>> futures = new ArrayList<>();
+            for (String id : ids) {
+                futures.add(executor.submit(() -> batcher.lookup(id)));
+            }
+            List<Entry> entries = new ArrayList<>();
+            for (Future<Entry> future : futures) {
+                entries.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return entries;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMalformedIdIsLeftOutOfTheBatch() throws Exception {
+        List<List<String>> queries = new CopyOnWriteArrayList<>();
+        IdBatcher batcher = new IdBatcher(Duration.ofMinutes(1), 4, ids -> {
+            queries.add(ids);
+            return rejecting(ids, "bogus");
+        });
+
+        List<Entry> entries = lookupAll(batcher, List.of("2601.00001", "bogus", "hep-th/9901001v1", "2601.00003"));
+
+        assertEquals("http://arxiv.org/abs/2601.00001v2", entries.get(0).id);
+        assertNull(entries.get(1));
+        assertEquals("http://arxiv.org/abs/hep-th/9901001v1", entries.get(2).id);
+        assertEquals(1, queries.size());
+        assertEquals(3, queries.get(0).size());
+    }
+
+    @Test
+    public void testRejectedListIsSplitInHalves() throws Exception {
+        List<List<String>> queries = new CopyOnWriteArrayList<>();
+        IdBatcher batcher = new IdBatcher(Duration.ofMinutes(1), 8, ids -> {
+            queries.add(ids);
+            return rejecting(ids, "2601.00005");
+        });
+        List<String> ids = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            ids.add(String.format("2601.%05d", i));
+        }
+
+        List<Entry> entries = lookupAll(batcher, ids);
+
+        for (int i = 0; i < 8; i++) {
+            if (i == 4) {
+                assertNull(entries.get(i));
+            } else {
+                assertEquals("http://arxiv.org/abs/" + ids.get(i) + "v2", entries.get(i).id);
+            }
+        }
+        // The whole list, its halves, then the rejected half split again down to the rejected ID
+        assertEquals(List.of(8, 4, 4, 2, 2, 1, 1), queries.stream().map(List::size).sorted(Comparator.reverseOrder()).toList());
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class NewPapersServiceTest {
+
+    @Test
+    public void testSubcategoriesBecomeCategoryQueries() {
+        assertEquals("cat:cs.LG", NewPapersService.query("cs.LG"));
+        assertEquals("cat:math.AG", NewPapersService.query(" math.AG "));
+        assertEquals("cat:astro-ph.CO", NewPapersService.query("astro-ph.CO"));
+        assertEquals("cat:cond-mat.stat-mech", NewPapersService.query("cond-mat.stat-mech"));
+    }
+
+    @Test
+    public void testArchivesWithoutSubcategoriesBecomeCategoryQueries() {
+        assertEquals("cat:quant-ph", NewPapersService.query("quant-ph"));
+        assertEquals("cat:hep-th", NewPapersService.query("hep-th"));
+        assertEquals("cat:math-ph", NewPapersService.query("math-ph"));
+    }
+
+    @Test
+    public void testArchivesWithSubcategoriesAndKeywordsAreLeftAsQueries() {
+        assertEquals("cs", NewPapersService.query("cs"));
+        assertEquals("math", NewPapersService.query("math"));
+        assertEquals("physics", NewPapersService.query("physics"));
+        assertEquals("stat", NewPapersService.query("stat"));
+        assertEquals("transformers", NewPapersService.query("transformers"));
+        assertEquals("cat:cs.LG AND ti:diffusion", NewPapersService.query("cat:cs.LG AND ti:diffusion"));
+    }
+}
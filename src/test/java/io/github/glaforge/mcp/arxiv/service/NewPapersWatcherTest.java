@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NewPapersWatcherTest {
+
+    /**
+     * A category where a paper is submitted every minute, served newest first.
+     */
+    private static class StubArxiv implements Function<SearchKey, Feed> {
+        final List<Entry> newestFirst = new ArrayList<>();
+        final List<SearchKey> requests = new ArrayList<>();
+
+        StubArxiv submit(int papers) {
+            for (int i = 0; i < papers; i++) {
+                submit(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(60L * newestFirst.size()));
+            }
+            return this;
+        }
+
+        StubArxiv submit(Instant published) {
+            Entry entry = new Entry();
+            entry.id = String.format("http://arxiv.org/abs/2601.%05dv1", newestFirst.size());
+            entry.published = published.toString();
+            newestFirst.add(0, entry);
+            return this;
+        }
+
+        @Override
+        public Feed apply(SearchKey key) {
+            requests.add(key);
+            Feed feed = new Feed();
+            feed.entries = new ArrayList<>(newestFirst.subList(Math.min(key.start(), newestFirst.size()),
+                Math.min(key.start() + key.maxResults(), newestFirst.size())));
+            return feed;
+        }
+
+        List<String> ids(Feed feed) {
+            return feed.entries.stream().map(ArxivIds::fromEntry).toList();
+        }
+    }
+
+    private static NewPapersCursor since(Feed feed) {
+        return NewPapersCursor.fromToken(feed.sinceToken);
+    }
+
+    @Test
+    public void testFirstPollReturnsNewestPapers() {
+        StubArxiv arxiv = new StubArxiv().submit(100);
+        NewPapersWatcher watcher = new NewPapersWatcher(arxiv, 10);
+
+        Feed feed = watcher.poll("cat:cs.LG", null, 30);
+
+        assertEquals(30, feed.entries.size());
+        assertEquals("2601.00099v1", arxiv.ids(feed).get(0));
+        assertEquals(List.of(SearchKey.of("cat:cs.LG", null, 0, 30, "submittedDate", "descending")), arxiv.requests);
+        assertEquals(new NewPapersCursor("cat:cs.LG", Instant.parse("2026-01-01T01:39:00Z"), List.of("2601.00099v1")), since(feed));
+        assertEquals(30, NewPapersPage.fromToken(feed.nextPageToken).start());
+    }
+
+    @Test
+    public void testFirstPollBeyondTheLargestPageReportsTheRest() {
+        StubArxiv arxiv = new StubArxiv().submit(300);
+        NewPapersWatcher watcher = new NewPapersWatcher(arxiv, 10);
+
+        Feed feed = watcher.poll("cat:cs.LG", null, 250);
+
+        assertEquals(250, feed.entries.size());
+        assertEquals(List.of(200, 50), arxiv.requests.stream().map(SearchKey::maxResults).toList());
+        Feed rest = watcher.next(NewPapersPage.fromToken(feed.nextPageToken), 100);
+        assertEquals(50, rest.entries.size());
+        assertEquals("2601.00049v1", arxiv.ids(rest).get(0));
+        assertNull(rest.nextPageToken);
+        assertEquals(feed.sinceToken, rest.sinceToken);
+    }
+
+    @Test
+    public void testQuietPollCostsOneSmallRequest() {
+        StubArxiv arxiv = new StubArxiv().submit(100);
+        NewPapersWatcher watcher = new NewPapersWatcher(arxiv, 10);
+        NewPapersCursor since = since(watcher.poll("cat:cs.LG", null, 50));
+        arxiv.requests.clear();
+
+        Feed feed = watcher.poll("cat:cs.LG", since, 50);
+
+        assertEquals(List.of(), feed.entries);
+        assertEquals(List.of(SearchKey.of("cat:cs.LG", null, 0, 10, "submittedDate", "descending")), arxiv.requests);
+        assertEquals(since, since(feed));
+    }
+
+    @Test
+    public void testStopsPagingAtKnownPapers() {
+        StubArxiv arxiv = new StubArxiv().submit(100);
+        NewPapersWatcher watcher = new NewPapersWatcher(arxiv, 10);
+        NewPapersCursor since = since(watcher.poll("cat:cs.LG", null, 50));
+        arxiv.submit(25);
+        arxiv.requests.clear();
+
+        Feed feed = watcher.poll("cat:cs.LG", since, 50);
+
+        assertEquals(25, feed.entries.size());
+        assertEquals("2601.00124v1", arxiv.ids(feed).get(0));
+        assertEquals("2601.00100v1", arxiv.ids(feed).get(24));
+        assertEquals(List.of(0, 10), arxiv.requests.stream().map(SearchKey::start).toList());
+        assertEquals(List.of(10, 20), arxiv.requests.stream().map(SearchKey::maxResults).toList());
+        assertNull(feed.nextPageToken);
+    }
+
+    @Test
+    public void testPapersSubmittedAtTheCursorDate() {
+        Instant date = Instant.parse("2026-02-01T12:00:00Z");
+        StubArxiv arxiv = new StubArxiv().submit(5).submit(date);
+        NewPapersWatcher watcher = new NewPapersWatcher(arxiv, 10);
+        Feed first = watcher.poll("cat:cs.LG", null, 50);
+        assertEquals(6, first.entries.size());
+
+        arxiv.submit(date);
+        Feed feed = watcher.poll("cat:cs.LG", since(first), 50);
+
+        assertEquals(List.of("2601.00006v1"), arxiv.ids(feed));
+        assertEquals(List.of("2601.00005v1", "2601.00006v1"), since(feed).ids());
+        assertEquals(List.of(), watcher.poll("cat:cs.LG", since(feed), 50).entries);
+    }
+
+    @Test
+    public void testRestStopsAtTheCursor() {
+        StubArxiv arxiv = new StubArxiv().submit(10);
+        NewPapersWatcher watcher = new NewPapersWatcher(arxiv, 10);
+        NewPapersCursor since = since(watcher.poll("cat:cs.LG", null, 50));
+        arxiv.submit(30);
+
+        Feed feed = watcher.poll("cat:cs.LG", since, 20);
+
+        assertEquals(20, feed.entries.size());
+        NewPapersPage page = NewPapersPage.fromToken(feed.nextPageToken);
+        assertEquals(since, page.since());
+        Feed rest = watcher.next(page, 20);
+        assertEquals(10, rest.entries.size());
+        assertEquals("2601.00019v1", arxiv.ids(rest).get(0));
+        assertEquals("2601.00010v1", arxiv.ids(rest).get(9));
+        assertNull(rest.nextPageToken);
+        assertEquals(feed.sinceToken, rest.sinceToken);
+        assertEquals(List.of(), watcher.poll("cat:cs.LG", since(feed), 20).entries);
+    }
+
+    @Test
+    public void testPageTokens() {
+        NewPapersCursor since = new NewPapersCursor("cat:cs.LG", Instant.parse("2026-01-01T00:00:00Z"), List.of("2601.00001v1"));
+        NewPapersPage page = new NewPapersPage("cat:cs.LG", null, since, 40);
+        assertEquals(page, NewPapersPage.fromToken(page.toToken()));
+        page = new NewPapersPage("cat:cs.LG", since, since, 40);
+        assertEquals(page, NewPapersPage.fromToken(page.toToken()));
+        RuntimeException e = assertThrows(RuntimeException.class, () -> NewPapersPage.fromToken("bogus"));
+        assertEquals("Invalid page token: bogus", e.getMessage());
+    }
+
+    @Test
+    public void testCallersDoNotTakeEachOthersPapers() {
+        StubArxiv arxiv = new StubArxiv().submit(20);
+        NewPapersWatcher watcher = new NewPapersWatcher(arxiv, 10);
+        NewPapersCursor first = since(watcher.poll("cat:cs.LG", null, 50));
+        NewPapersCursor second = since(watcher.poll("cat:cs.LG", null, 50));
+        arxiv.submit(3);
+
+        Feed firstFeed = watcher.poll("cat:cs.LG", first, 50);
+        Feed secondFeed = watcher.poll("cat:cs.LG", second, 50);
+
+        assertEquals(List.of("2601.00022v1", "2601.00021v1", "2601.00020v1"), arxiv.ids(firstFeed));
+        assertEquals(arxiv.ids(firstFeed), arxiv.ids(secondFeed));
+    }
+
+    @Test
+    public void testCursorTokens() {
+        NewPapersCursor cursor = new NewPapersCursor("cat:cs.LG AND ti:\"diffusion models\"",
+            Instant.parse("2026-02-01T12:00:00Z"), List.of("2601.00005v1", "2601.00006v2"));
+
+        assertEquals(cursor, NewPapersCursor.fromToken(cursor.toToken()));
+        RuntimeException e = assertThrows(RuntimeException.class, () -> NewPapersCursor.fromToken("bogus"));
+        assertEquals("Invalid since token: bogus", e.getMessage());
+    }
+}
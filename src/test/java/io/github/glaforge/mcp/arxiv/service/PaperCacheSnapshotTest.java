@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Author;
+import io.github.glaforge.mcp.arxiv.model.Category;
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Link;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PaperCacheSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private static Entry entry(String id) {
+        Entry entry = new Entry();
+        entry.id = "http://arxiv.org/abs/" + id;
+        entry.title = "Title of " + id;
+        entry.summary = "Summary of " + id + " with accents: é, ü";
+        return entry;
+    }
+
+    @Test
+    public void testEncodesEveryField() {
+        Entry entry = entry("2601.00844v1");
+        entry.published = "2026-01-02T00:00:00Z";
+        entry.doi = "10.1000/xyz";
+        Author author = new Author();
+        author.name = "Ada Lovelace";
+        author.affiliation = "Analytical Engines";
+        entry.authors = List.of(author);
+        Link link = new Link();
+        link.href = "https://arxiv.org/pdf/2601.00844v1";
+        link.type = "application/pdf";
+        entry.links = List.of(link);
+        Category category = new Category();
+        category.term = "cs.AI";
+        category.scheme = "http://arxiv.org/schemas/atom";
+        entry.categories = List.of(category);
+        entry.primaryCategory = category;
+
+        Entry decoded = PaperCacheSnapshot.decode(PaperCacheSnapshot.encode(entry));
+        assertEquals(entry.id, decoded.id);
+        assertEquals(entry.summary, decoded.summary);
+        assertEquals(entry.doi, decoded.doi);
+        assertNull(decoded.updated);
+        assertNull(decoded.comment);
+        assertEquals("Analytical Engines", decoded.authors.get(0).affiliation);
+        assertEquals("application/pdf", decoded.links.get(0).type);
+        assertNull(decoded.links.get(0).rel);
+        assertEquals("cs.AI", decoded.categories.get(0).term);
+        assertEquals("cs.AI", decoded.primaryCategory.term);
+    }
+
+    @Test
+    public void testRestoresEntriesLazilyWithTheirAge() throws Exception {
+        Path file = directory.resolve("cache.bin");
+        AtomicLong now = new AtomicLong();
+        PaperCache cache = new PaperCache(100, 0, Duration.ofHours(1), Duration.ofHours(1), Duration.ZERO, now::get);
+        cache.put(entry("2601.00844v2"), true);
+        cache.put(entry("2601.00845v1"), true);
+        now.addAndGet(TimeUnit.MINUTES.toNanos(90));
+        cache.put(entry("2601.00846v1"), false);
+        assertTrue(cache.isDirty());
+        cache.saveSnapshot(file);
+        assertFalse(cache.isDirty());
+
+        PaperCacheSnapshot snapshot = PaperCacheSnapshot.open(file);
+        assertEquals(5, snapshot.size());
+        PaperCache restored = new PaperCache(100, 0, Duration.ofHours(1), Duration.ofHours(1), Duration.ZERO, System::nanoTime);
+        restored.attach(snapshot);
+        assertEquals(0, restored.size());
+
+        PaperCache.Hit hit = restored.lookup("2601.00844");
+        assertEquals("http://arxiv.org/abs/2601.00844v2", hit.entry().id);
+        assertTrue(hit.stale());
+        assertFalse(restored.lookup("2601.00846v1").stale());
+        assertNull(restored.get("2601.00846"));
+        assertEquals(2, restored.snapshotHitCount());
+        assertEquals(2, restored.size());
+
+        // A newer version replaces the snapshot entry
+        restored.put(entry("2601.00845v2"), true);
+        assertEquals("http://arxiv.org/abs/2601.00845v2", restored.get("2601.00845").id);
+        restored.invalidateAll();
+        assertNull(restored.lookup("2601.00845"));
+        assertNull(restored.lookup("2601.00845v1"));
+    }
+
+    @Test
+    public void testSavingKeepsEntriesNotTakenYet() throws Exception {
+        Path file = directory.resolve("cache.bin");
+        PaperCache cache = new PaperCache(100, 0, Duration.ofHours(1), System::nanoTime);
+        cache.put(entry("2601.00844v1"), true);
+        cache.put(entry("2601.00845v1"), true);
+        cache.saveSnapshot(file);
+
+        PaperCache restored = new PaperCache(100, 0, Duration.ofHours(1), System::nanoTime);
+        restored.attach(PaperCacheSnapshot.open(file));
+        assertNotNull(restored.get("2601.00844v1"));
+        restored.put(entry("2601.00846v1"), false);
+        // Overwrites the mapped file
+        restored.saveSnapshot(file);
+
+        PaperCacheSnapshot snapshot = PaperCacheSnapshot.open(file);
+        assertEquals(5, snapshot.size());
+        Map<String, String> versions = Map.of(
+            "2601.00844", "2601.00844v1", "2601.00844v1", "2601.00844v1",
+            "2601.00845", "2601.00845v1", "2601.00845v1", "2601.00845v1",
+            "2601.00846v1", "2601.00846v1");
+        versions.forEach((key, id) -> assertEquals("http://arxiv.org/abs/" + id, snapshot.take(key).entry().id));
+        assertNull(snapshot.take("2601.00844"));
+    }
+
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("cache.bin");
+        Files.writeString(file, "not a snapshot");
+        assertThrows(IOException.class, () -> PaperCacheSnapshot.open(file));
+    }
+
+    @Test
+    public void testRejectsCorruptSlotTableWhenOpened() throws IOException {
+        Path file = directory.resolve("cache.bin");
+        Map<String, PaperCacheSnapshot.Stored> entries = new LinkedHashMap<>();
+        entries.put("2601.00844v1", new PaperCacheSnapshot.Stored(0, PaperCacheSnapshot.encode(entry("2601.00844v1"))));
+        entries.put("2601.00845v1", new PaperCacheSnapshot.Stored(0, PaperCacheSnapshot.encode(entry("2601.00845v1"))));
+        PaperCacheSnapshot.write(file, entries);
+        byte[] bytes = Files.readAllBytes(file);
+        assertEquals(2, PaperCacheSnapshot.open(file).size());
+
+        // Data position of the first slot, pointing past the end of the file
+        byte[] corrupt = bytes.clone();
+        ByteBuffer.wrap(corrupt).putInt(12 + 4, bytes.length);
+        Files.write(file, corrupt);
+        assertThrows(IOException.class, () -> PaperCacheSnapshot.open(file));
+
+        // Entries cut off, with the slot table intact
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+        assertThrows(IOException.class, () -> PaperCacheSnapshot.open(file));
+
+        // Keys swapped, which binary search cannot find
+        corrupt = bytes.clone();
+        ByteBuffer.wrap(corrupt).putInt(12, ByteBuffer.wrap(bytes).getInt(12 + 20)).putInt(12 + 20, ByteBuffer.wrap(bytes).getInt(12));
+        Files.write(file, corrupt);
+        assertThrows(IOException.class, () -> PaperCacheSnapshot.open(file));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PaperCacheTest {
+
+    private static Entry entry(String id) {
+        Entry entry = new Entry();
+        entry.id = "http://arxiv.org/abs/" + id;
+        entry.title = "Title of " + id;
+        entry.summary = "Summary of " + id;
+        return entry;
+    }
+
+    @Test
+    public void testVersionedAndUnversionedKeys() {
+        PaperCache cache = new PaperCache(100, 0, Duration.ofHours(1), System::nanoTime);
+
+        Entry latest = entry("2601.05230v2");
+        cache.put(latest, true);
+        assertSame(latest, cache.get("2601.05230v2"));
+        assertSame(latest, cache.get("2601.05230"));
+        assertSame(latest, cache.get("http://arxiv.org/abs/2601.05230"));
+
+        Entry older = entry("2601.05230v1");
+        cache.put(older, false);
+        assertSame(older, cache.get("2601.05230v1"));
+        assertSame(latest, cache.get("2601.05230"));
+    }
+
+    @Test
+    public void testErrorEntriesAreNotCached() {
+        PaperCache cache = new PaperCache(100, 0, Duration.ofHours(1), System::nanoTime);
+
+        Entry error = new Entry();
+        error.id = "http://arxiv.org/api/errors#incorrect_id_format_for_foo";
+        cache.put(error, true);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testExpiresAfterTtl() {
+        AtomicLong now = new AtomicLong();
+        PaperCache cache = new PaperCache(100, 0, Duration.ofMinutes(5), now::get);
+
+        cache.put(entry("2601.00844v1"), false);
+        assertEquals("http://arxiv.org/abs/2601.00844v1", cache.get("2601.00844v1").id);
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(6));
+        assertNull(cache.get("2601.00844v1"));
+    }
+
+    @Test
+    public void testServesStaleEntriesUntilHardExpiry() {
+        AtomicLong now = new AtomicLong();
+        PaperCache cache = new PaperCache(100, 0, Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ZERO, now::get);
+        Entry entry = entry("2601.00844v1");
+        cache.put(entry, true);
+        assertFalse(cache.lookup("2601.00844").stale());
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(6));
+        assertNull(cache.get("2601.00844"));
+        PaperCache.Hit hit = cache.lookup("2601.00844");
+        assertSame(entry, hit.entry());
+        assertTrue(hit.stale());
+        assertEquals(1, cache.staleHitCount());
+
+        Entry refreshed = entry("2601.00844v1");
+        cache.put(refreshed, true);
+        assertSame(refreshed, cache.get("2601.00844"));
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(16));
+        assertNull(cache.lookup("2601.00844"));
+    }
+
+    @Test
+    public void testRemembersMissingIds() {
+        AtomicLong now = new AtomicLong();
+        PaperCache cache = new PaperCache(100, 0, Duration.ofHours(1), Duration.ZERO, Duration.ofMinutes(10), now::get);
+
+        cache.markMissing("http://arxiv.org/abs/2601.99999");
+        assertTrue(cache.isMissing("2601.99999"));
+        assertFalse(cache.isMissing("2601.99998"));
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        assertFalse(cache.isMissing("2601.99999"));
+
+        cache.markMissing("2601.99999");
+        cache.put(entry("2601.99999v1"), true);
+        assertFalse(cache.isMissing("2601.99999"));
+    }
+
+    @Test
+    public void testHitAndMissCounters() {
+        PaperCache cache = new PaperCache(100, 0, Duration.ofHours(1), System::nanoTime);
+
+        cache.put(entry("2601.00844v1"), false);
+        cache.get("2601.00844v1");
+        cache.get("2601.00844v1");
+        cache.get("2601.99999v1");
+
+        assertEquals(2, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void testCompactEntriesAreDecodedOnEachLookup() {
+        PaperCache cache = new PaperCache(100, 1_000_000, Duration.ofHours(1), Duration.ZERO, Duration.ZERO,
+            new CompactEntryCodec(true), System::nanoTime);
+
+        Entry entry = entry("2601.00844v1");
+        cache.put(entry, true);
+        Entry cached = cache.get("2601.00844");
+        assertNotSame(entry, cached);
+        assertNotSame(cached, cache.get("2601.00844v1"));
+        assertEquals(entry.id, cached.id);
+        assertEquals(entry.summary, cached.summary);
+
+        // Changing a returned entry doesn't change the cache
+        cached.title = "Changed";
+        assertEquals("Title of 2601.00844v1", cache.get("2601.00844").title);
+    }
+
+    @Test
+    public void testWeightEstimateGrowsWithContent() {
+        Entry small = entry("2601.00001v1");
+        Entry large = entry("2601.00002v1");
+        large.summary = "x".repeat(10_000);
+        assertTrue(PaperCache.estimateSize(large) > PaperCache.estimateSize(small) + 19_000);
+    }
+}
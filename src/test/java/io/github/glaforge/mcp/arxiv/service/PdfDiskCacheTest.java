@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PdfDiskCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private static ByteArrayInputStream pdf(int size) {
+        return new ByteArrayInputStream(new byte[size]);
+    }
+
+    @Test
+    public void testStoresAndServesVersionedPdfs() throws Exception {
+        PdfDiskCache cache = new PdfDiskCache(true, directory, 1_000_000);
+        assertNull(cache.get("2601.00844v1"));
+
+        byte[] content = "%PDF-1.5 fake content".getBytes();
+        cache.put("2601.00844v1", new ByteArrayInputStream(content), 1_000);
+        cache.put("hep-th/9901001v1", pdf(10), 1_000);
+
+        Path cached = cache.get("2601.00844v1");
+        assertNotNull(cached);
+        assertArrayEquals(content, Files.readAllBytes(cached));
+        assertNotNull(cache.get("hep-th/9901001v1"));
+        assertEquals(Base64.getEncoder().encodeToString(content), PdfService.encodeBase64(cached));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        PdfDiskCache cache = new PdfDiskCache(true, directory, 250);
+        cache.put("2601.00001v1", pdf(100), 1_000);
+        cache.put("2601.00002v1", pdf(100), 1_000);
+        cache.get("2601.00001v1");
+        cache.put("2601.00003v1", pdf(100), 1_000);
+
+        assertNotNull(cache.get("2601.00001v1"));
+        assertNull(cache.get("2601.00002v1"));
+        assertNotNull(cache.get("2601.00003v1"));
+        assertEquals(200, cache.sizeInBytes());
+    }
+
+    @Test
+    public void testOversizedDownloadLeavesNothingBehind() throws Exception {
+        PdfDiskCache cache = new PdfDiskCache(true, directory, 1_000_000);
+        assertThrows(IOException.class, () -> cache.put("2601.00001v1", pdf(2_000), 1_000));
+
+        assertNull(cache.get("2601.00001v1"));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testReloadsExistingFilesOnStartup() throws Exception {
+        new PdfDiskCache(true, directory, 1_000_000).put("2601.00001v1", pdf(100), 1_000);
+
+        PdfDiskCache reopened = new PdfDiskCache(true, directory, 1_000_000);
+        assertEquals(100, reopened.sizeInBytes());
+        assertNotNull(reopened.get("2601.00001v1"));
+    }
+}
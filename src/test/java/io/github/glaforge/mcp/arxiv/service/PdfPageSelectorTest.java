@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.benchmark.Fixtures;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.destination.PDPageDestination;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PdfPageSelectorTest {
+
+    private static List<String> text(byte[] pdf) throws IOException {
+        List<String> pages = new ArrayList<>();
+        PdfTextExtractor.extract(ByteBuffer.wrap(pdf), (page, text) -> pages.add(text.strip()));
+        return pages;
+    }
+
+    @Test
+    public void testCopiesTheSelectedPages() throws IOException {
+        byte[] pdf = Fixtures.pdf(64 * 1024);
+        byte[] selected;
+        try (PdfPageSelector selector = PdfPageSelector.read(ByteBuffer.wrap(pdf))) {
+            assertEquals(3, selector.pageCount());
+            selected = selector.write(2, 3);
+        }
+
+        assertEquals(List.of(Fixtures.PDF_PAGES.get(1).strip(), Fixtures.PDF_PAGES.get(2).strip()), text(selected));
+        // The padding stream is not used by any page
+        assertTrue(selected.length < 4096, "Selected pages take " + selected.length + " bytes");
+        try (PDDocument document = Loader.loadPDF(selected)) {
+            assertTrue(document.getPage(0).getCOSObject().containsKey(COSName.MEDIA_BOX),
+                "Inherited attributes are copied to the pages");
+        }
+    }
+
+    @Test
+    public void testDropsReferencesToPagesLeftOut() throws IOException {
+        Fixtures.PdfBuilder builder = new Fixtures.PdfBuilder();
+        int tree = builder.reserve();
+        int contents = builder.addStream("", "BT /F1 10 Tf (Second page) Tj ET".getBytes(StandardCharsets.US_ASCII), false);
+        int first = builder.reserve();
+        int link = builder.add("<< /Type /Annot /Subtype /Link /Rect [0 0 10 10] /Dest [" + first + " 0 R /Fit] >>");
+        int second = builder.add("<< /Type /Page /Parent " + tree + " 0 R /Contents " + contents
+            + " 0 R /Annots [" + link + " 0 R] /Resources << /Font << /F1 << /Type /Font /Subtype /Type1 /BaseFont /Helvetica >> >> >> >>");
+        byte[] unused = new byte[10_000];
+        builder.set(first, "<< /Type /Page /Parent " + tree + " 0 R /Contents " + builder.addStream("", unused, true) + " 0 R >>");
+        builder.set(tree, "<< /Type /Pages /Kids [" + first + " 0 R " + second + " 0 R] /Count 2 >>");
+        byte[] pdf = builder.build(builder.add("<< /Type /Catalog /Pages " + tree + " 0 R >>"));
+
+        byte[] selected;
+        try (PdfPageSelector selector = PdfPageSelector.read(ByteBuffer.wrap(pdf))) {
+            selected = selector.write(2, 2);
+        }
+
+        assertEquals(List.of("Second page"), text(selected));
+        try (PDDocument document = Loader.loadPDF(selected)) {
+            assertEquals(1, document.getNumberOfPages());
+            PDAnnotationLink annotation = (PDAnnotationLink) document.getPage(0).getAnnotations().get(0);
+            assertNull(((PDPageDestination) annotation.getDestination()).getPage());
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidRanges() throws IOException {
+        try (PdfPageSelector selector = PdfPageSelector.read(ByteBuffer.wrap(Fixtures.pdf(64 * 1024)))) {
+            assertThrows(IllegalArgumentException.class, () -> selector.write(0, 1));
+            assertThrows(IllegalArgumentException.class, () -> selector.write(3, 2));
+            assertThrows(IllegalArgumentException.class, () -> selector.write(1, 4));
+        }
+        assertThrows(IOException.class, () -> PdfPageSelector.read(ByteBuffer.wrap("%PDF-1.5\n".getBytes(StandardCharsets.US_ASCII))));
+    }
+}
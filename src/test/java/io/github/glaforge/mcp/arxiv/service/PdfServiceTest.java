@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PdfServiceTest {
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testChunkedEncodingMatchesOneShotEncoding() throws Exception {
+        // Sizes around chunk boundaries exercise the Base64 padding carried between writes
+        for (int size : new int[] {0, 1, 2, 3, PdfService.CHUNK_SIZE - 1, PdfService.CHUNK_SIZE + 1, 1_000_001}) {
+            byte[] pdf = randomBytes(size);
+            assertEquals(Base64.getEncoder().encodeToString(pdf),
+                PdfService.encodeBase64(new ByteArrayInputStream(pdf), Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void testRejectsOversizedPdf() {
+        byte[] pdf = randomBytes(200_000);
+        assertThrows(IOException.class, () -> PdfService.encodeBase64(new ByteArrayInputStream(pdf), 100_000));
+    }
+}
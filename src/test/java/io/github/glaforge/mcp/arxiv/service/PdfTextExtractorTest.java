@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.benchmark.Fixtures;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PdfTextExtractorTest {
+
+    private static List<String> extract(byte[] pdf) throws IOException {
+        List<String> pages = new ArrayList<>();
+        int count = PdfTextExtractor.extract(ByteBuffer.wrap(pdf), (page, text) -> {
+            assertEquals(pages.size() + 1, page);
+            pages.add(text);
+        });
+        assertEquals(pages.size(), count);
+        return pages;
+    }
+
+    private static String hex(String text) {
+        StringBuilder hex = new StringBuilder("<");
+        text.chars().forEach(c -> hex.append(String.format("%04X", c)));
+        return hex.append('>').toString();
+    }
+
+    /**
+     * A one-page PDF whose content stream has the given dictionary entries and
+     * data, taken as is, and with another object holding {@code extra}.
+     */
+    private static byte[] onePage(String dictionary, byte[] content, String extra) {
+        Fixtures.PdfBuilder builder = new Fixtures.PdfBuilder();
+        int tree = builder.reserve();
+        int contents = builder.addStream(dictionary, content, false);
+        int page = builder.add("<< /Type /Page /Parent " + tree + " 0 R /Contents " + contents + " 0 R >>");
+        builder.set(tree, "<< /Type /Pages /Kids [" + page + " 0 R] /Count 1 >>");
+        builder.add(extra);
+        return builder.build(builder.add("<< /Type /Catalog /Pages " + tree + " 0 R >>"));
+    }
+
+    @Test
+    public void testExtractsPagesInOrder() throws IOException {
+        List<String> pages = extract(Fixtures.pdf(64 * 1024));
+
+        assertEquals(Fixtures.PDF_PAGES.size(), pages.size());
+        for (int i = 0; i < pages.size(); i++) {
+            assertEquals(Fixtures.PDF_PAGES.get(i).strip(), pages.get(i).strip());
+        }
+    }
+
+    @Test
+    public void testMapsCompositeFontsThroughToUnicode() throws IOException {
+        Fixtures.PdfBuilder builder = new Fixtures.PdfBuilder();
+        int cmap = builder.addStream("", """
+            /CIDInit /ProcSet findresource begin
+            begincmap
+            1 begincodespacerange <0000> <FFFF> endcodespacerange
+            1 beginbfrange <0020> <007E> <0020> endbfrange
+            1 beginbfchar <FB01> <00660069> endbfchar
+            endcmap
+            """.getBytes(StandardCharsets.US_ASCII), true);
+        String content = "BT /F1 10 Tf 72 700 Td [" + hex("Graph") + " -400 " + hex("neural") + "] TJ 0 -12 Td "
+            + hex("efﬁcient") + " Tj ET";
+        int contents = builder.addStream("", content.getBytes(StandardCharsets.US_ASCII), true);
+        int descriptor = builder.add("<< /Type /FontDescriptor /FontName /Test /Flags 4 /FontBBox [0 -200 1000 800]"
+            + " /ItalicAngle 0 /Ascent 800 /Descent -200 /CapHeight 700 /StemV 80 >>");
+        int cidFont = builder.add("<< /Type /Font /Subtype /CIDFontType2 /BaseFont /Test /CIDSystemInfo"
+            + " << /Registry (Adobe) /Ordering (Identity) /Supplement 0 >> /FontDescriptor " + descriptor + " 0 R /DW 500 >>");
+        int font = builder.add("<< /Type /Font /Subtype /Type0 /BaseFont /Test /Encoding /Identity-H /DescendantFonts ["
+            + cidFont + " 0 R] /ToUnicode " + cmap + " 0 R >>");
+        int tree = builder.reserve();
+        int page = builder.add("<< /Type /Page /Parent " + tree + " 0 R /Contents " + contents
+            + " 0 R /Resources << /Font << /F1 " + font + " 0 R >> >> >>");
+        builder.set(tree, "<< /Type /Pages /Kids [" + page + " 0 R] /Count 1 >>");
+        byte[] pdf = builder.build(builder.add("<< /Type /Catalog /Pages " + tree + " 0 R >>"));
+
+        List<String> pages = extract(pdf);
+
+        assertEquals(1, pages.size());
+        assertEquals("Graph neural\nefficient", pages.get(0).strip());
+    }
+
+    @Test
+    public void testRejectsFilesWithoutPages() {
+        byte[] notPdf = "<html><body>Not found</body></html>".getBytes(StandardCharsets.US_ASCII);
+
+        assertThrows(IOException.class, () -> extract(notPdf));
+    }
+
+    @Test
+    public void testFormatsPageRanges() {
+        String text = "first\fsecond\nline\fthird";
+
+        assertEquals("--- Page 2 of 3 ---\nsecond\nline\n--- Page 3 of 3 ---\nthird\n",
+            PdfTextService.format("2601.00844v1", text, 2, 0, 0));
+        assertEquals("--- Page 1 of 3 ---\nfi…", PdfTextService.format("2601.00844v1", text, 1, 1, 22));
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> PdfTextService.format("2601.00844v1", text, 4, 0, 0));
+        assertEquals("Paper 2601.00844v1 only has 3 pages", e.getMessage());
+        e = assertThrows(RuntimeException.class, () -> PdfTextService.format("2601.00844v1", text, 3, 2, 0));
+        assertEquals("Invalid page range 3-2", e.getMessage());
+    }
+
+    @Test
+    public void testKeepsTextInflatedBeforeCorruption() throws IOException {
+        StringBuilder text = new StringBuilder("BT 72 700 Td");
+        for (int i = 0; i < 200; i++) {
+            text.append(" 0 -12 Td (Readable line ").append(i).append(") Tj");
+        }
+        Deflater deflater = new Deflater();
+        deflater.setInput(text.append(" ET\n").toString().getBytes(StandardCharsets.US_ASCII));
+        deflater.finish();
+        byte[] buffer = new byte[16 * 1024];
+        int length = deflater.deflate(buffer);
+        deflater.end();
+        // Garbage over the last quarter of the stream
+        Arrays.fill(buffer, length * 3 / 4, length, (byte) 0xFF);
+
+        List<String> pages = extract(onePage("/Filter /FlateDecode", Arrays.copyOf(buffer, length), "null"));
+
+        List<String> lines = pages.get(0).strip().lines().toList();
+        assertEquals("Readable line 0", lines.get(0));
+        assertTrue(lines.size() > 50, lines.size() + " lines");
+        assertTrue(lines.size() < 200, lines.size() + " lines");
+    }
+
+    @Test
+    public void testRejectsDecompressionBombs() throws IOException {
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(deflated, new Deflater(Deflater.BEST_COMPRESSION))) {
+            byte[] spaces = new byte[1 << 20];
+            Arrays.fill(spaces, (byte) ' ');
+            for (int i = 0; i < 300; i++) {
+                out.write(spaces);
+            }
+        }
+
+        IOException e = assertThrows(IOException.class,
+            () -> extract(onePage("/Filter /FlateDecode", deflated.toByteArray(), "null")));
+        assertEquals("The PDF decompresses to more than 256 MB", e.getMessage());
+    }
+
+    @Test
+    public void testSurvivesDeeplyNestedObjects() throws IOException {
+        String nested = "[".repeat(100_000) + "]".repeat(100_000);
+        byte[] content = ("BT 72 700 Td (Still readable) Tj ET " + nested).getBytes(StandardCharsets.US_ASCII);
+
+        List<String> pages = extract(onePage("", content, "<< /Junk " + nested + " >>"));
+
+        assertEquals("Still readable", pages.get(0).strip());
+    }
+}
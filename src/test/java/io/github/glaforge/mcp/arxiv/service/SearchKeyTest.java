@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.github.glaforge.mcp.arxiv.model.Entry;
+import io.github.glaforge.mcp.arxiv.model.Feed;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchKeyTest {
+
+    private static Feed page(int totalResults, int entryCount) {
+        Feed feed = new Feed();
+        feed.totalResults = totalResults;
+        feed.entries = Collections.nCopies(entryCount, new Entry());
+        return feed;
+    }
+
+    @Test
+    public void testNormalizesEquivalentQueries() {
+        assertEquals(SearchKey.of("all:electron  AND\tcat:cs.AI", " ", 0, 10, "", null),
+            SearchKey.of("all:electron AND cat:cs.AI", null, 0, 10, null, null));
+        assertEquals("2601.05230,hep-th/9901001v1",
+            SearchKey.of(null, "http://arxiv.org/abs/2601.05230, hep-th/9901001v1", 0, 2, null, null).idList());
+    }
+
+    @Test
+    public void testNextPage() {
+        SearchKey key = SearchKey.of("all:electron", null, 200, 100, "submittedDate", "descending");
+
+        assertEquals(SearchKey.of("all:electron", null, 300, 100, "submittedDate", "descending"), key.nextPage(page(1000, 100)));
+        assertNull(key.nextPage(page(300, 100)));
+        assertNull(key.nextPage(page(1000, 0)));
+        assertNull(SearchKey.of(null, "2601.05230", 0, 1, null, null).nextPage(page(1, 1)));
+    }
+
+    @Test
+    public void testTokenRoundTrip() {
+        SearchKey key = SearchKey.of("ti:\"large language models\" AND cat:cs.CL", null, 300, 50, "relevance", null);
+
+        String token = key.toToken();
+        assertEquals(key, SearchKey.fromToken(token));
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertThrows(RuntimeException.class, () -> SearchKey.fromToken("not a token"));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testConcurrentCallersShareOneExecution() throws Exception {
+        SingleFlight<SearchKey, Object> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> singleFlight.execute(
+                    SearchKey.of(" all:electron ", null, 0, 5, null, null),
+                    () -> {
+                        calls.incrementAndGet();
+                        await(release);
+                        return result;
+                    })));
+            }
+            while (singleFlight.executionCount() + singleFlight.sharedCount() < 8) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<Object> future : futures) {
+                assertSame(result, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(7, singleFlight.sharedCount());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    public void testFailureIsPropagatedAndNotRemembered() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("ok", singleFlight.execute("key", () -> "ok"));
+        assertEquals(2, singleFlight.executionCount());
+    }
+
+    @Test
+    public void testEquivalentQueriesProduceEqualKeys() {
+        assertEquals(
+            SearchKey.of("all:electron  AND  cat:cs.AI", null, 0, 5, "", null),
+            SearchKey.of(" all:electron AND cat:cs.AI", "", 0, 5, null, " "));
+        assertEquals("2601.05230,2601.00844v1",
+            SearchKey.of(null, "2601.05230, http://arxiv.org/abs/2601.00844v1", 0, 2, null, null).idList());
+        assertNotEquals(
+            SearchKey.of("all:electron", null, 0, 5, null, null),
+            SearchKey.of("all:electron", null, 5, 5, null, null));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testAsyncCallersShareOneExecution() {
+        SingleFlight<SearchKey, Object> singleFlight = new SingleFlight<>();
+        SearchKey key = SearchKey.of("all:electron", null, 0, 5, null, null);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Object> upstream = new CompletableFuture<>();
+        Object result = new Object();
+
+        List<CompletableFuture<Object>> callers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            callers.add(singleFlight.executeAsync(key, () -> {
+                calls.incrementAndGet();
+                return Uni.createFrom().completionStage(upstream);
+            }).subscribeAsCompletionStage());
+        }
+        // A blocking caller joins the same execution
+        callers.add(CompletableFuture.supplyAsync(() -> singleFlight.execute(key, () -> {
+            calls.incrementAndGet();
+            return new Object();
+        })));
+        while (singleFlight.sharedCount() < 4) {
+            Thread.onSpinWait();
+        }
+
+        // Cancelling one caller does not cancel the execution for the others
+        callers.get(1).cancel(false);
+        upstream.complete(result);
+        assertSame(result, callers.get(0).join());
+        assertSame(result, callers.get(2).join());
+        assertSame(result, callers.get(4).join());
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glaforge.mcp.arxiv.service;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UpstreamPolicyTest {
+
+    private static UpstreamPolicy policy(int maxAttempts, int failureThreshold) {
+        return new UpstreamPolicy("arXiv API request", maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5),
+            new CircuitBreaker("arXiv API", failureThreshold, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    public void testRetriesTransientFailures() {
+        UpstreamPolicy policy = policy(3, 0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = policy.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new WebApplicationException(503);
+            }
+            return "feed";
+        });
+        assertEquals("feed", result);
+        assertEquals(2, policy.retryCount());
+
+        attempts.set(0);
+        RuntimeException e = assertThrows(RuntimeException.class, () -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ProcessingException(new SocketTimeoutException("Read timed out"));
+        }));
+        assertTrue(e.getMessage().startsWith("arXiv API request failed after 3 attempts"), e.getMessage());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testDoesNotRetryOtherFailures() {
+        UpstreamPolicy policy = policy(3, 1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(WebApplicationException.class, () -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new WebApplicationException(404);
+        }));
+        assertEquals(1, attempts.get());
+        // Client errors say nothing about the health of the upstream
+        assertFalse(policy.circuitBreaker().isOpen());
+    }
+
+    @Test
+    public void testOpenCircuitFailsFast() {
+        UpstreamPolicy policy = policy(5, 2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> policy.executeAsync(() -> {
+            attempts.incrementAndGet();
+            return Uni.createFrom().failure(new WebApplicationException(502));
+        }).await().atMost(Duration.ofSeconds(5)));
+        assertEquals("arXiv API is unavailable after repeated failures, try again in 60 s", e.getMessage());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testHedgeAnswersForSlowCall() {
+        UpstreamPolicy policy = policy(1, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = policy.hedged(() -> calls.incrementAndGet() == 1
+                ? Uni.createFrom().item("slow").onItem().delayIt().by(Duration.ofSeconds(5))
+                : Uni.createFrom().item("hedge"),
+            Duration.ofMillis(20), () -> true).await().atMost(Duration.ofSeconds(2));
+        assertEquals("hedge", result);
+        assertEquals(1, policy.hedgeCount());
+        assertEquals(1, policy.hedgeWinCount());
+
+        // A fast call is never hedged, and a disallowed hedge is never sent
+        assertEquals("fast", policy.hedged(() -> Uni.createFrom().item("fast"), Duration.ofMillis(20), () -> true)
+            .await().indefinitely());
+        assertEquals("slow", policy.hedged(
+                () -> Uni.createFrom().item("slow").onItem().delayIt().by(Duration.ofMillis(100)),
+                Duration.ofMillis(20), () -> false)
+            .await().indefinitely());
+        assertEquals(1, policy.hedgeCount());
+    }
+
+    @Test
+    public void testBackoffIsJitteredAndCapped() {
+        UpstreamPolicy policy = new UpstreamPolicy("arXiv API request", 10, Duration.ofSeconds(1), Duration.ofSeconds(10),
+            new CircuitBreaker("arXiv API", 0, Duration.ZERO));
+        for (int retry = 0; retry < 40; retry++) {
+            long backoff = policy.backoffNanos(retry);
+            assertTrue(backoff >= 0);
+            assertTrue(backoff <= Math.min(10, 1L << Math.min(retry, 4)) * 1_000_000_000L);
+        }
+    }
+}